@@ -0,0 +1,11 @@
+package org.realityforge.graphql.scalars;
+
+/**
+ * The operations performed by a {@link graphql.schema.Coercing}.
+ */
+public enum CoercionOperation
+{
+  SERIALIZE,
+  PARSE_VALUE,
+  PARSE_LITERAL
+}
@@ -0,0 +1,132 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.schema.Coercing;
+import graphql.schema.GraphQLScalarType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nonnull;
+
+/**
+ * A sampling profiler that records the values presented to scalars.
+ * It is intended to size caches before they are introduced. For each scalar and operation the profiler
+ * estimates the number of distinct values, the most frequent values and the hit rate an LRU cache of
+ * several sizes would achieve. i.e.
+ *
+ * <pre>{@code
+ * final CoercionProfiler profiler = new CoercionProfiler();
+ * final GraphQLScalarType localDate = profiler.profile( Scalars.LOCAL_DATE );
+ * // ... build the schema using localDate and execute queries ...
+ * profiler.snapshot().forEach( System.out::println );
+ * }</pre>
+ *
+ * <p>Values are sampled by hash so that a fixed fraction of the distinct values is recorded for the distinct
+ * count and the cache simulations. Occurrences are also sampled at random at the same rate to find the most
+ * frequent values, as a frequent value may not be selected by its hash. Each profile uses a fixed amount of
+ * memory, determined by the number of top values retained and the simulated cache sizes scaled down by the
+ * sample rate.</p>
+ *
+ * <p>The sample rate trades accuracy for overhead. Every value is hashed, but only sampled values are recorded.
+ * Recording threads never wait on each other. Sampled values are buffered, and the buffers are drained by one
+ * thread at a time. A higher sample rate therefore reduces the work done per coercion, and the chance that
+ * samples are dropped because a buffer is full. Estimates become less accurate as the sample rate rises,
+ * especially for caches that are not much larger than the sample rate and for values that are not frequent.
+ * The defaults sample one in 64 distinct values and one in 64 occurrences, and simulate caches of 1024 to
+ * 65536 entries, which suits production traffic. Use a sample rate of 1 to record every value when profiling
+ * low volumes of traffic.</p>
+ */
+public final class CoercionProfiler
+{
+  private static final int DEFAULT_SAMPLE_RATE = 64;
+  private static final int DEFAULT_TOP_VALUE_COUNT = 16;
+  @Nonnull
+  private static final int[] DEFAULT_CACHE_SIZES = new int[]{ 1024, 4096, 16384, 65536 };
+  private final int _sampleRate;
+  private final int _topValueCount;
+  @Nonnull
+  private final int[] _cacheSizes;
+  @Nonnull
+  private final List<ValueProfile> _profiles = new CopyOnWriteArrayList<>();
+
+  /**
+   * Create a profiler that records one in 64 distinct values and one in 64 occurrences, retains the 16 most
+   * frequent values and simulates caches of 1024, 4096, 16384 and 65536 entries.
+   */
+  public CoercionProfiler()
+  {
+    this( DEFAULT_SAMPLE_RATE, DEFAULT_TOP_VALUE_COUNT, DEFAULT_CACHE_SIZES );
+  }
+
+  /**
+   * Create a profiler.
+   *
+   * @param sampleRate    the profiler records one in sampleRate distinct values and one in sampleRate occurrences.
+   *                      Must be a power of two.
+   *                      Each cache is simulated with size/sampleRate entries so cache sizes should be
+   *                      much larger than the sample rate.
+   * @param topValueCount the number of most frequent values retained.
+   * @param cacheSizes    the sizes of the caches for which hit rates are estimated.
+   */
+  public CoercionProfiler( final int sampleRate, final int topValueCount, @Nonnull final int... cacheSizes )
+  {
+    if ( sampleRate <= 0 || 0 != ( sampleRate & ( sampleRate - 1 ) ) )
+    {
+      throw new IllegalArgumentException( "Sample rate " + sampleRate + " must be a positive power of two" );
+    }
+    else if ( topValueCount < 0 )
+    {
+      throw new IllegalArgumentException( "Top value count " + topValueCount + " must not be negative" );
+    }
+    for ( final int cacheSize : cacheSizes )
+    {
+      if ( cacheSize <= 0 )
+      {
+        throw new IllegalArgumentException( "Cache size " + cacheSize + " must be positive" );
+      }
+    }
+    _sampleRate = sampleRate;
+    _topValueCount = topValueCount;
+    _cacheSizes = Arrays.copyOf( cacheSizes, cacheSizes.length );
+  }
+
+  /**
+   * Return a copy of the scalar that records the values presented to it in this profiler.
+   */
+  @Nonnull
+  public GraphQLScalarType profile( @Nonnull final GraphQLScalarType scalar )
+  {
+    final String name = scalar.getName();
+    final ValueProfile serializeProfile = newProfile( name, CoercionOperation.SERIALIZE );
+    final ValueProfile parseValueProfile = newProfile( name, CoercionOperation.PARSE_VALUE );
+    final ValueProfile parseLiteralProfile = newProfile( name, CoercionOperation.PARSE_LITERAL );
+    final Coercing<?, ?> coercing = scalar.getCoercing();
+    return GraphQLScalarType.newScalar()
+      .name( name )
+      .description( scalar.getDescription() )
+      .coercing( new ProfilingCoercing( coercing, serializeProfile, parseValueProfile, parseLiteralProfile ) )
+      .build();
+  }
+
+  /**
+   * Return a snapshot of every profile recorded by this profiler.
+   */
+  @Nonnull
+  public List<ValueProfileSnapshot> snapshot()
+  {
+    final List<ValueProfileSnapshot> snapshots = new ArrayList<>( _profiles.size() );
+    for ( final ValueProfile profile : _profiles )
+    {
+      snapshots.add( profile.snapshot() );
+    }
+    return snapshots;
+  }
+
+  @Nonnull
+  private ValueProfile newProfile( @Nonnull final String scalarName, @Nonnull final CoercionOperation operation )
+  {
+    final ValueProfile profile = new ValueProfile( scalarName, operation, _sampleRate, _topValueCount, _cacheSizes );
+    _profiles.add( profile );
+    return profile;
+  }
+}
@@ -0,0 +1,61 @@
+package org.realityforge.graphql.scalars;
+
+/**
+ * A count-min sketch that estimates the number of times a hash has been added.
+ * Estimates never undercount and overcount by at most 2N/width with high probability,
+ * where N is the total number of additions. The rows are only independent if the hashes
+ * are uniformly distributed over all 64 bits. This class is not thread-safe.
+ */
+final class CountMinSketch
+{
+  private final int _depth;
+  private final int _width;
+  private final int[] _counters;
+
+  CountMinSketch( final int depth, final int width )
+  {
+    _depth = depth;
+    _width = width;
+    _counters = new int[ depth * width ];
+  }
+
+  /**
+   * Add the hash and return the estimated count of the hash after the addition.
+   */
+  int add( final long hash )
+  {
+    int estimate = Integer.MAX_VALUE;
+    for ( int i = 0; i < _depth; i++ )
+    {
+      final int index = i * _width + indexOf( hash, i );
+      if ( Integer.MAX_VALUE != _counters[ index ] )
+      {
+        _counters[ index ]++;
+      }
+      estimate = Math.min( estimate, _counters[ index ] );
+    }
+    return estimate;
+  }
+
+  int estimate( final long hash )
+  {
+    int estimate = Integer.MAX_VALUE;
+    for ( int i = 0; i < _depth; i++ )
+    {
+      estimate = Math.min( estimate, _counters[ i * _width + indexOf( hash, i ) ] );
+    }
+    return estimate;
+  }
+
+  /**
+   * Derive the index in row i from the two halves of the hash. See Kirsch and Mitzenmacher,
+   * "Less Hashing, Same Performance". The step is forced to be odd so that a hash maps to
+   * different columns in each row even if the low bits of the hash are zero.
+   */
+  int indexOf( final long hash, final int i )
+  {
+    final int step = (int) hash | 1;
+    final int combined = (int) ( hash >>> 32 ) + i * step;
+    return ( combined & Integer.MAX_VALUE ) % _width;
+  }
+}
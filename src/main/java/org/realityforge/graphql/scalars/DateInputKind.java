@@ -0,0 +1,22 @@
+package org.realityforge.graphql.scalars;
+
+/**
+ * The kinds of values that a date scalar accepts.
+ *
+ * @see DateScalarBuilder#inputKinds(DateInputKind...)
+ */
+public enum DateInputKind
+{
+  /**
+   * Strings in the ISO local format of the scalar. Applies when serializing, parsing values and parsing literals.
+   */
+  STRING,
+  /**
+   * Integers representing the number of milliseconds since the epoch. Applies when parsing values and literals.
+   */
+  EPOCH_MILLIS,
+  /**
+   * Instances of {@link java.time.temporal.TemporalAccessor} and {@link java.util.Date}. Applies when serializing.
+   */
+  TEMPORAL
+}
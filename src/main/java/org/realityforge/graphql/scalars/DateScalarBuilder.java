@@ -0,0 +1,175 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.schema.Coercing;
+import graphql.schema.GraphQLScalarType;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A builder for date scalars with a custom name, permitted range, accepted inputs and zone.
+ * Instances are created via {@link Scalars#newLocalDateScalar()} or {@link Scalars#newLocalDateTimeScalar()}.
+ */
+public final class DateScalarBuilder
+{
+  private final boolean _dateTime;
+  @Nonnull
+  private String _name;
+  @Nullable
+  private String _description;
+  @Nonnull
+  private LocalDate _minDate = DateScalarConfig.DEFAULT_MIN_DATE;
+  @Nonnull
+  private LocalDate _maxDate = DateScalarConfig.DEFAULT_MAX_DATE;
+  @Nonnull
+  private EnumSet<DateInputKind> _inputKinds = EnumSet.allOf( DateInputKind.class );
+  @Nullable
+  private ZoneId _zone;
+  private boolean _lenient;
+  private long _epochMillisThreshold = DateScalarConfig.DEFAULT_EPOCH_MILLIS_THRESHOLD;
+  private long _epochMicrosThreshold = DateScalarConfig.DEFAULT_EPOCH_MICROS_THRESHOLD;
+
+  DateScalarBuilder( final boolean dateTime, @Nonnull final String name, @Nullable final String description )
+  {
+    _dateTime = dateTime;
+    _name = Objects.requireNonNull( name );
+    _description = description;
+  }
+
+  /**
+   * Specify the name of the scalar.
+   */
+  @Nonnull
+  public DateScalarBuilder name( @Nonnull final String name )
+  {
+    _name = Objects.requireNonNull( name );
+    return this;
+  }
+
+  /**
+   * Specify the description of the scalar.
+   */
+  @Nonnull
+  public DateScalarBuilder description( @Nullable final String description )
+  {
+    _description = description;
+    return this;
+  }
+
+  /**
+   * Specify the inclusive range of dates that the scalar accepts when parsing.
+   * Defaults to January 1, 1753 through to December 31, 9999.
+   */
+  @Nonnull
+  public DateScalarBuilder range( @Nonnull final LocalDate minDate, @Nonnull final LocalDate maxDate )
+  {
+    if ( minDate.isAfter( maxDate ) )
+    {
+      throw new IllegalArgumentException( "Minimum date " + minDate + " is after maximum date " + maxDate );
+    }
+    _minDate = minDate;
+    _maxDate = maxDate;
+    return this;
+  }
+
+  /**
+   * Specify the kinds of values that the scalar accepts. Defaults to all kinds.
+   * The scalar must accept at least one kind of value when serializing and at least one kind when parsing.
+   */
+  @Nonnull
+  public DateScalarBuilder inputKinds( @Nonnull final DateInputKind... inputKinds )
+  {
+    _inputKinds = EnumSet.noneOf( DateInputKind.class );
+    _inputKinds.addAll( Arrays.asList( inputKinds ) );
+    return this;
+  }
+
+  /**
+   * Specify the zone used to convert epoch values and {@link java.util.Date} instances.
+   * Defaults to the system default zone at the time of conversion.
+   */
+  @Nonnull
+  public DateScalarBuilder zone( @Nonnull final ZoneId zone )
+  {
+    _zone = Objects.requireNonNull( zone );
+    return this;
+  }
+
+  /**
+   * Specify whether the scalar is lenient when parsing input values and literals.
+   * A lenient scalar also accepts dates in the basic ISO form, such as '20111203' or '20111203T101530',
+   * integer strings, and epoch values in seconds, milliseconds or microseconds. The unit of an epoch value
+   * is determined by its magnitude as described in {@link #epochUnitThresholds(long, long)}.
+   * Integer strings are only accepted if {@link DateInputKind#STRING} is accepted while numbers are only
+   * accepted if {@link DateInputKind#EPOCH_MILLIS} is accepted. An eight digit string is always interpreted
+   * as a basic ISO date. Defaults to false.
+   */
+  @Nonnull
+  public DateScalarBuilder lenient( final boolean lenient )
+  {
+    _lenient = lenient;
+    return this;
+  }
+
+  /**
+   * Specify the magnitudes used to determine the unit of epoch values in lenient mode.
+   * Values with a magnitude less than the millis threshold are seconds, values with a magnitude
+   * less than the micros threshold are milliseconds and any other values are microseconds.
+   * Defaults to 10^11 and 10^14 which interpret values in the range March 1973 through to the year
+   * 5138 correctly in each unit.
+   */
+  @Nonnull
+  public DateScalarBuilder epochUnitThresholds( final long epochMillisThreshold, final long epochMicrosThreshold )
+  {
+    if ( epochMillisThreshold < 0 || epochMillisThreshold > Long.MAX_VALUE / 1000L )
+    {
+      throw new IllegalArgumentException( "Epoch millis threshold " + epochMillisThreshold + " is out of range" );
+    }
+    else if ( epochMicrosThreshold < epochMillisThreshold )
+    {
+      throw new IllegalArgumentException( "Epoch micros threshold " + epochMicrosThreshold + " is less than " +
+                                          "the epoch millis threshold " + epochMillisThreshold );
+    }
+    _epochMillisThreshold = epochMillisThreshold;
+    _epochMicrosThreshold = epochMicrosThreshold;
+    return this;
+  }
+
+  @Nonnull
+  public GraphQLScalarType build()
+  {
+    final boolean acceptString = _inputKinds.contains( DateInputKind.STRING );
+    final boolean acceptEpochMillis = _inputKinds.contains( DateInputKind.EPOCH_MILLIS );
+    final boolean acceptTemporal = _inputKinds.contains( DateInputKind.TEMPORAL );
+    if ( !acceptString && !acceptTemporal )
+    {
+      throw new IllegalStateException( "Scalar " + _name + " must accept either STRING or TEMPORAL inputs " +
+                                       "so that values can be serialized" );
+    }
+    else if ( !acceptString && !acceptEpochMillis )
+    {
+      throw new IllegalStateException( "Scalar " + _name + " must accept either STRING or EPOCH_MILLIS inputs " +
+                                       "so that values can be parsed" );
+    }
+    final DateScalarConfig config =
+      new DateScalarConfig( _minDate,
+                            _maxDate,
+                            acceptString,
+                            acceptEpochMillis,
+                            acceptTemporal,
+                            _zone,
+                            _lenient,
+                            _epochMillisThreshold,
+                            _epochMicrosThreshold );
+    final Coercing<?, ?> coercing = _dateTime ? new LocalDateTimeCoercing( config ) : new LocalDateCoercing( config );
+    return GraphQLScalarType.newScalar()
+      .name( _name )
+      .description( _description )
+      .coercing( coercing )
+      .build();
+  }
+}
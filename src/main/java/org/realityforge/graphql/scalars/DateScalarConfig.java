@@ -0,0 +1,251 @@
+package org.realityforge.graphql.scalars;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The configuration of a date scalar.
+ * The permitted range is precomputed as epoch-day bounds so that values can be checked
+ * before any java.time objects are created. The range is also precomputed as epoch-milli
+ * bounds so that epoch values far outside the range are rejected before the zone is resolved.
+ * The descriptions used in error messages are only created when an error is reported.
+ */
+final class DateScalarConfig
+{
+  @Nonnull
+  static final LocalDate DEFAULT_MIN_DATE = LocalDate.of( 1753, 1, 1 );
+  @Nonnull
+  static final LocalDate DEFAULT_MAX_DATE = LocalDate.of( 9999, 12, 31 );
+  /**
+   * Epoch values with a magnitude less than this are interpreted as seconds in lenient mode.
+   * The default treats values up to the year 5138 as seconds and values from March 1973 as milliseconds.
+   */
+  static final long DEFAULT_EPOCH_MILLIS_THRESHOLD = 100000000000L;
+  /**
+   * Epoch values with a magnitude of at least this are interpreted as microseconds in lenient mode.
+   * The default treats values up to the year 5138 as milliseconds and values from March 1973 as microseconds.
+   */
+  static final long DEFAULT_EPOCH_MICROS_THRESHOLD = 100000000000000L;
+  private static final long MILLIS_PER_DAY = 86400000L;
+  /**
+   * The maximum offset of any zone from UTC. An instant more than this outside the range
+   * is outside the range in every zone.
+   */
+  private static final long MAX_OFFSET_MILLIS = 18L * 60L * 60L * 1000L;
+  @Nonnull
+  static final DateScalarConfig DEFAULT =
+    new DateScalarConfig( DEFAULT_MIN_DATE,
+                          DEFAULT_MAX_DATE,
+                          true,
+                          true,
+                          true,
+                          null,
+                          false,
+                          DEFAULT_EPOCH_MILLIS_THRESHOLD,
+                          DEFAULT_EPOCH_MICROS_THRESHOLD );
+  private final long _minEpochDay;
+  private final long _maxEpochDay;
+  private final long _minEpochMilli;
+  private final long _maxEpochMilli;
+  @Nonnull
+  private final LocalDate _minDate;
+  @Nonnull
+  private final LocalDate _maxDate;
+  private final boolean _acceptString;
+  private final boolean _acceptEpochMillis;
+  private final boolean _acceptTemporal;
+  /**
+   * The zone used to convert epoch values or null to use the system default zone at the time of conversion.
+   */
+  @Nullable
+  private final ZoneId _zone;
+  /**
+   * Flag set to true if input values may also be supplied in the basic ISO form, as numeric strings or
+   * as epoch values in seconds, milliseconds or microseconds.
+   */
+  private final boolean _lenient;
+  private final long _epochMillisThreshold;
+  private final long _epochMicrosThreshold;
+
+  DateScalarConfig( @Nonnull final LocalDate minDate,
+                    @Nonnull final LocalDate maxDate,
+                    final boolean acceptString,
+                    final boolean acceptEpochMillis,
+                    final boolean acceptTemporal,
+                    @Nullable final ZoneId zone,
+                    final boolean lenient,
+                    final long epochMillisThreshold,
+                    final long epochMicrosThreshold )
+  {
+    _minEpochDay = minDate.toEpochDay();
+    _maxEpochDay = maxDate.toEpochDay();
+    _minEpochMilli = toEpochMilliBound( _minEpochDay, -MAX_OFFSET_MILLIS );
+    _maxEpochMilli = toEpochMilliBound( _maxEpochDay + 1, MAX_OFFSET_MILLIS - 1 );
+    _minDate = minDate;
+    _maxDate = maxDate;
+    _acceptString = acceptString;
+    _acceptEpochMillis = acceptEpochMillis;
+    _acceptTemporal = acceptTemporal;
+    _zone = zone;
+    _lenient = lenient;
+    _epochMillisThreshold = epochMillisThreshold;
+    _epochMicrosThreshold = epochMicrosThreshold;
+  }
+
+  boolean isInRange( final long epochDay )
+  {
+    return epochDay >= _minEpochDay && epochDay <= _maxEpochDay;
+  }
+
+  /**
+   * Return false if the instant is outside the range in every zone.
+   * This check does not require the zone to be resolved. An instant that passes must still be
+   * converted to an epoch day in the zone and checked using {@link #isInRange(long)}.
+   */
+  boolean isEpochMilliInBounds( final long epochMilli )
+  {
+    return epochMilli >= _minEpochMilli && epochMilli <= _maxEpochMilli;
+  }
+
+  /**
+   * Return a description of the range suitable for use in error messages, such as "between January 1, 1753 and December 31, 9999".
+   */
+  @Nonnull
+  String getRangeDescription()
+  {
+    return "between " + describe( _minDate ) + " and " + describe( _maxDate );
+  }
+
+  boolean acceptString()
+  {
+    return _acceptString;
+  }
+
+  boolean acceptEpochMillis()
+  {
+    return _acceptEpochMillis;
+  }
+
+  boolean acceptTemporal()
+  {
+    return _acceptTemporal;
+  }
+
+  @Nonnull
+  ZoneId getZone()
+  {
+    return null != _zone ? _zone : ZoneId.systemDefault();
+  }
+
+  boolean isLenient()
+  {
+    return _lenient;
+  }
+
+  /**
+   * Convert an epoch value supplied as input into epoch milliseconds.
+   * In lenient mode the unit is determined by the magnitude of the value, otherwise the value is
+   * always milliseconds.
+   */
+  long toEpochMilli( final long value )
+  {
+    if ( !_lenient )
+    {
+      return value;
+    }
+    else if ( value > -_epochMillisThreshold && value < _epochMillisThreshold )
+    {
+      return value * 1000L;
+    }
+    else if ( value > -_epochMicrosThreshold && value < _epochMicrosThreshold )
+    {
+      return value;
+    }
+    else
+    {
+      return Math.floorDiv( value, 1000L );
+    }
+  }
+
+  /**
+   * Return a description of the types accepted when serializing, such as "'String' or 'java.util.Date'".
+   */
+  @Nonnull
+  String getExpectedSerializeTypes()
+  {
+    final List<String> types = new ArrayList<>();
+    if ( _acceptString )
+    {
+      types.add( "'String'" );
+    }
+    if ( _acceptTemporal )
+    {
+      types.add( "'java.util.Date'" );
+      types.add( "'java.time.temporal.TemporalAccessor'" );
+    }
+    return join( types );
+  }
+
+  /**
+   * Return a description of the types accepted when parsing, such as "a string or an integer".
+   */
+  @Nonnull
+  String getExpectedParseTypes()
+  {
+    final List<String> types = new ArrayList<>();
+    if ( _acceptString )
+    {
+      types.add( "a string" );
+    }
+    if ( _acceptEpochMillis )
+    {
+      types.add( "an integer" );
+    }
+    return join( types );
+  }
+
+  /**
+   * Return the epoch milli at the start of the epoch day plus the adjustment, saturating
+   * rather than overflowing for dates far from the epoch.
+   */
+  private static long toEpochMilliBound( final long epochDay, final long adjustment )
+  {
+    try
+    {
+      return Math.addExact( Math.multiplyExact( epochDay, MILLIS_PER_DAY ), adjustment );
+    }
+    catch ( final ArithmeticException e )
+    {
+      return epochDay < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+  }
+
+  @Nonnull
+  private static String describe( @Nonnull final LocalDate date )
+  {
+    final String month = date.getMonth().name();
+    return month.charAt( 0 ) + month.substring( 1 ).toLowerCase( Locale.ENGLISH ) + " " +
+           date.getDayOfMonth() + ", " + date.getYear();
+  }
+
+  @Nonnull
+  private static String join( @Nonnull final List<String> values )
+  {
+    final StringBuilder sb = new StringBuilder();
+    final int size = values.size();
+    for ( int i = 0; i < size; i++ )
+    {
+      if ( 0 != i )
+      {
+        sb.append( i == size - 1 ? " or " : ", " );
+      }
+      sb.append( values.get( i ) );
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,443 @@
+package org.realityforge.graphql.scalars;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.chrono.IsoChronology;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Conversion, parsing and formatting routines shared by the coercings.
+ * Epoch values are converted by resolving the zone offset once and then using integer arithmetic
+ * rather than building an intermediate {@link java.time.ZonedDateTime} for every value. The common
+ * ISO forms are parsed and formatted directly so that the comparatively expensive initialization of
+ * {@link java.time.format.DateTimeFormatter} is only incurred when a value falls outside these forms.
+ */
+final class DateTimes
+{
+  private static final long MILLIS_PER_SECOND = 1000L;
+  private static final long SECONDS_PER_DAY = 86400L;
+  private static final long DAYS_0000_TO_1970 = 719528L;
+  private static final int NANOS_PER_MILLI = 1000000;
+  private static final long NANOS_PER_SECOND = 1000000000L;
+  private static final long NANOS_PER_MINUTE = 60L * NANOS_PER_SECOND;
+  private static final long NANOS_PER_HOUR = 60L * NANOS_PER_MINUTE;
+  /**
+   * The length of a date in the form 'yyyy-MM-dd'.
+   */
+  static final int ISO_DATE_LENGTH = 10;
+  /**
+   * The length of the shortest time accepted by the ISO local time format, 'HH:mm'.
+   */
+  private static final int MIN_ISO_TIME_LENGTH = 5;
+  /**
+   * The length of the longest time accepted by the ISO local time format, 'HH:mm:ss.SSSSSSSSS'.
+   */
+  private static final int MAX_ISO_TIME_LENGTH = 18;
+  /**
+   * The length of the longest formatted date-time. Dates outside the years 0 to 9999 have a sign and up to 9 year
+   * digits, such as '+999999999-12-31', which is followed by a 'T' and the longest time.
+   */
+  private static final int MAX_FORMATTED_LENGTH = 16 + 1 + MAX_ISO_TIME_LENGTH;
+  /**
+   * Per-thread scratch space used when formatting so that the only allocation is the resulting String.
+   * Formatting never calls out to other code while the buffer is in use so the buffer can not be
+   * used re-entrantly. The buffer is small so the cost of one per virtual thread is acceptable.
+   * The initial value is supplied by a subclass rather than a lambda so that the first format does not
+   * bootstrap a lambda.
+   */
+  @Nonnull
+  private static final ThreadLocal<char[]> c_buffer = new ThreadLocal<char[]>()
+  {
+    @Override
+    protected char[] initialValue()
+    {
+      return new char[ MAX_FORMATTED_LENGTH ];
+    }
+  };
+
+  private DateTimes()
+  {
+  }
+
+  @Nonnull
+  static LocalDate toLocalDate( final long epochMilli, @Nonnull final ZoneId zone )
+  {
+    return LocalDate.ofEpochDay( toEpochDay( epochMilli, zone ) );
+  }
+
+  @Nonnull
+  static LocalDateTime toLocalDateTime( final long epochMilli, @Nonnull final ZoneId zone )
+  {
+    return toLocalDateTime( epochMilli, getOffset( epochMilli, zone ) );
+  }
+
+  @Nonnull
+  static LocalDateTime toLocalDateTime( final long epochMilli, @Nonnull final ZoneOffset offset )
+  {
+    final long epochSecond = Math.floorDiv( epochMilli, MILLIS_PER_SECOND );
+    final int nanoOfSecond = (int) Math.floorMod( epochMilli, MILLIS_PER_SECOND ) * NANOS_PER_MILLI;
+    return LocalDateTime.ofEpochSecond( epochSecond, nanoOfSecond, offset );
+  }
+
+  static long toEpochDay( final long epochMilli, @Nonnull final ZoneId zone )
+  {
+    return toEpochDay( epochMilli, getOffset( epochMilli, zone ) );
+  }
+
+  static long toEpochDay( final long epochMilli, @Nonnull final ZoneOffset offset )
+  {
+    final long localSecond = Math.floorDiv( epochMilli, MILLIS_PER_SECOND ) + offset.getTotalSeconds();
+    return Math.floorDiv( localSecond, SECONDS_PER_DAY );
+  }
+
+  @Nonnull
+  static ZoneOffset getOffset( final long epochMilli, @Nonnull final ZoneId zone )
+  {
+    return zone instanceof ZoneOffset ?
+           (ZoneOffset) zone :
+           zone.getRules().getOffset( Instant.ofEpochMilli( epochMilli ) );
+  }
+
+  /**
+   * Parse a date in the form 'yyyy-MM-dd' and return a LocalDate or null if the text is not
+   * in that form or does not describe a valid date. Callers are expected to fall back to
+   * {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE} when null is returned so that
+   * less common forms are accepted and failures are reported consistently.
+   */
+  @Nullable
+  static LocalDate tryParseLocalDate( @Nonnull final CharSequence text )
+  {
+    if ( ISO_DATE_LENGTH == text.length() )
+    {
+      final int date = parseIsoDate( text, 0 );
+      return -1 == date ? null : toLocalDate( date );
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  /**
+   * Parse a date-time in the form 'yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]]' and return a LocalDateTime
+   * or null if the text is not in that form or does not describe a valid date-time. Callers are
+   * expected to fall back to {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} when
+   * null is returned.
+   */
+  @Nullable
+  static LocalDateTime tryParseLocalDateTime( @Nonnull final CharSequence text )
+  {
+    final int length = text.length();
+    if ( length >= ISO_DATE_LENGTH + 1 + MIN_ISO_TIME_LENGTH &&
+         length <= ISO_DATE_LENGTH + 1 + MAX_ISO_TIME_LENGTH &&
+         'T' == text.charAt( ISO_DATE_LENGTH ) )
+    {
+      final int date = parseIsoDate( text, 0 );
+      final long nanoOfDay = -1 == date ? -1 : parseIsoTime( text, ISO_DATE_LENGTH + 1 );
+      return -1 == nanoOfDay ? null : toLocalDateTime( date, nanoOfDay );
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  /**
+   * Parse a date in the form 'yyyy-MM-dd' starting at the specified offset.
+   * The text must contain at least {@link #ISO_DATE_LENGTH} characters from the offset.
+   *
+   * @return the date encoded as yyyyMMdd or -1 if the text is not a valid date.
+   */
+  static int parseIsoDate( @Nonnull final CharSequence text, final int offset )
+  {
+    if ( '-' != text.charAt( offset + 4 ) || '-' != text.charAt( offset + 7 ) )
+    {
+      return -1;
+    }
+    final int year = parseDigits( text, offset, 4 );
+    final int month = parseDigits( text, offset + 5, 2 );
+    final int day = parseDigits( text, offset + 8, 2 );
+    return isValidDate( year, month, day ) ? year * 10000 + month * 100 + day : -1;
+  }
+
+  /**
+   * Parse a time in the form 'HH:mm[:ss[.SSSSSSSSS]]' that extends from the specified offset to the end of the text.
+   *
+   * @return the nano-of-day or -1 if the text is not a valid time.
+   */
+  static long parseIsoTime( @Nonnull final CharSequence text, final int offset )
+  {
+    final int length = text.length() - offset;
+    if ( length < MIN_ISO_TIME_LENGTH || length > MAX_ISO_TIME_LENGTH || ':' != text.charAt( offset + 2 ) )
+    {
+      return -1;
+    }
+    final int hour = parseDigits( text, offset, 2 );
+    final int minute = parseDigits( text, offset + 3, 2 );
+    int second = 0;
+    int nano = 0;
+    if ( length > MIN_ISO_TIME_LENGTH )
+    {
+      if ( length < 8 || ':' != text.charAt( offset + 5 ) )
+      {
+        return -1;
+      }
+      second = parseDigits( text, offset + 6, 2 );
+      if ( length > 8 )
+      {
+        nano = parseFraction( text, offset + 8, length - 8 );
+      }
+    }
+    return toNanoOfDay( hour, minute, second, nano );
+  }
+
+  /**
+   * Parse a date in the form 'yyyyMMdd' starting at the specified offset.
+   * The text must contain at least 8 characters from the offset.
+   *
+   * @return the date encoded as yyyyMMdd or -1 if the text is not a valid date.
+   */
+  static int parseBasicDate( @Nonnull final CharSequence text, final int offset )
+  {
+    final int year = parseDigits( text, offset, 4 );
+    final int month = parseDigits( text, offset + 4, 2 );
+    final int day = parseDigits( text, offset + 6, 2 );
+    return isValidDate( year, month, day ) ? year * 10000 + month * 100 + day : -1;
+  }
+
+  /**
+   * Parse a time in the form 'HHmm[ss[.SSSSSSSSS]]' that extends from the specified offset to the end of the text.
+   *
+   * @return the nano-of-day or -1 if the text is not a valid time.
+   */
+  static long parseBasicTime( @Nonnull final CharSequence text, final int offset )
+  {
+    final int length = text.length() - offset;
+    if ( 4 != length && 6 != length && ( length < 8 || length > 16 ) )
+    {
+      return -1;
+    }
+    final int hour = parseDigits( text, offset, 2 );
+    final int minute = parseDigits( text, offset + 2, 2 );
+    final int second = length > 4 ? parseDigits( text, offset + 4, 2 ) : 0;
+    final int nano = length > 6 ? parseFraction( text, offset + 6, length - 6 ) : 0;
+    return toNanoOfDay( hour, minute, second, nano );
+  }
+
+  /**
+   * Parse an optionally negative integer that has already been classified as {@link InputFormat#INTEGER}.
+   */
+  static long parseInteger( @Nonnull final CharSequence text )
+  {
+    final boolean negative = '-' == text.charAt( 0 );
+    long value = 0;
+    for ( int i = negative ? 1 : 0; i < text.length(); i++ )
+    {
+      value = value * 10 + ( text.charAt( i ) - '0' );
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parse a fraction of the form '.SSSSSSSSS' with between 1 and 9 digits.
+   *
+   * @return the nano-of-second or -1 if the text is not a valid fraction.
+   */
+  private static int parseFraction( @Nonnull final CharSequence text, final int offset, final int length )
+  {
+    final int digits = length - 1;
+    if ( digits < 1 || digits > 9 || '.' != text.charAt( offset ) )
+    {
+      return -1;
+    }
+    int nano = parseDigits( text, offset + 1, digits );
+    for ( int i = digits; i < 9 && nano >= 0; i++ )
+    {
+      nano *= 10;
+    }
+    return nano;
+  }
+
+  private static long toNanoOfDay( final int hour, final int minute, final int second, final int nano )
+  {
+    if ( hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || nano < 0 )
+    {
+      return -1;
+    }
+    return hour * NANOS_PER_HOUR + minute * NANOS_PER_MINUTE + second * NANOS_PER_SECOND + nano;
+  }
+
+  @Nonnull
+  static LocalDate toLocalDate( final int date )
+  {
+    return LocalDate.of( date / 10000, date / 100 % 100, date % 100 );
+  }
+
+  /**
+   * Return the date-time for a date encoded as yyyyMMdd and a nano-of-day.
+   */
+  @Nonnull
+  static LocalDateTime toLocalDateTime( final int date, final long nanoOfDay )
+  {
+    return LocalDateTime.of( toLocalDate( date ), LocalTime.ofNanoOfDay( nanoOfDay ) );
+  }
+
+  /**
+   * Return the epoch day of a date encoded as yyyyMMdd without creating a LocalDate.
+   * This mirrors the calculation performed by {@link LocalDate#toEpochDay()} for non-negative years.
+   */
+  static long toEpochDay( final int date )
+  {
+    final long year = date / 10000;
+    final int month = date / 100 % 100;
+    final int day = date % 100;
+    long total = 365 * year + ( year + 3 ) / 4 - ( year + 99 ) / 100 + ( year + 399 ) / 400;
+    total += ( 367 * month - 362 ) / 12;
+    total += day - 1;
+    if ( month > 2 )
+    {
+      total--;
+      if ( !IsoChronology.INSTANCE.isLeapYear( year ) )
+      {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  /**
+   * Format the date in the same form as {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE}.
+   */
+  @Nonnull
+  static String format( @Nonnull final LocalDate date )
+  {
+    final int year = date.getYear();
+    if ( year >= 0 && year <= 9999 )
+    {
+      final char[] buffer = c_buffer.get();
+      writeDate( buffer, year, date.getMonthValue(), date.getDayOfMonth() );
+      return new String( buffer, 0, ISO_DATE_LENGTH );
+    }
+    else
+    {
+      // LocalDate.toString() emits the sign and extra digits in the same way as the ISO formatter
+      return date.toString();
+    }
+  }
+
+  /**
+   * Format the date-time in the same form as {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
+   */
+  @Nonnull
+  static String format( @Nonnull final LocalDateTime dateTime )
+  {
+    final char[] buffer = c_buffer.get();
+    final int year = dateTime.getYear();
+    int position;
+    if ( year >= 0 && year <= 9999 )
+    {
+      writeDate( buffer, year, dateTime.getMonthValue(), dateTime.getDayOfMonth() );
+      position = ISO_DATE_LENGTH;
+    }
+    else
+    {
+      // LocalDate.toString() emits the sign and extra digits in the same way as the ISO formatter
+      final String date = dateTime.toLocalDate().toString();
+      position = date.length();
+      date.getChars( 0, position, buffer, 0 );
+    }
+    buffer[ position ] = 'T';
+    writeDigits( buffer, position + 1, dateTime.getHour(), 2 );
+    buffer[ position + 3 ] = ':';
+    writeDigits( buffer, position + 4, dateTime.getMinute(), 2 );
+    buffer[ position + 6 ] = ':';
+    writeDigits( buffer, position + 7, dateTime.getSecond(), 2 );
+    position += 9;
+    final int nano = dateTime.getNano();
+    if ( 0 != nano )
+    {
+      // The ISO formatter emits the shortest fraction that represents the nano-of-second
+      int digits = 9;
+      int fraction = nano;
+      while ( 0 == fraction % 10 )
+      {
+        fraction /= 10;
+        digits--;
+      }
+      buffer[ position ] = '.';
+      writeDigits( buffer, position + 1, fraction, digits );
+      position += 1 + digits;
+    }
+    return new String( buffer, 0, position );
+  }
+
+  /**
+   * Write a date in the form 'yyyy-MM-dd' at the start of the buffer. The year must be between 0 and 9999.
+   */
+  private static void writeDate( @Nonnull final char[] buffer, final int year, final int month, final int day )
+  {
+    writeDigits( buffer, 0, year, 4 );
+    buffer[ 4 ] = '-';
+    writeDigits( buffer, 5, month, 2 );
+    buffer[ 7 ] = '-';
+    writeDigits( buffer, 8, day, 2 );
+  }
+
+  /**
+   * Write the value as exactly width digits, padded with leading zeros, starting at the offset.
+   */
+  private static void writeDigits( @Nonnull final char[] buffer, final int offset, final int value, final int width )
+  {
+    int remaining = value;
+    for ( int i = offset + width - 1; i >= offset; i-- )
+    {
+      buffer[ i ] = (char) ( '0' + remaining % 10 );
+      remaining /= 10;
+    }
+  }
+
+  /**
+   * Return the value of the ASCII digits in the specified range or -1 if any character is not an ASCII digit.
+   * The length must be at most 9 so that the result can not overflow.
+   */
+  private static int parseDigits( @Nonnull final CharSequence text, final int offset, final int length )
+  {
+    int value = 0;
+    for ( int i = offset; i < offset + length; i++ )
+    {
+      final int digit = text.charAt( i ) - '0';
+      if ( digit < 0 || digit > 9 )
+      {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static boolean isValidDate( final int year, final int month, final int day )
+  {
+    return year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth( year, month );
+  }
+
+  private static int lengthOfMonth( final int year, final int month )
+  {
+    switch ( month )
+    {
+      case 2:
+        return IsoChronology.INSTANCE.isLeapYear( year ) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+}
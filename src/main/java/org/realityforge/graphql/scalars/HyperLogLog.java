@@ -0,0 +1,57 @@
+package org.realityforge.graphql.scalars;
+
+/**
+ * A HyperLogLog estimator of the number of distinct hashes added.
+ * The estimator uses 2^precision single byte registers and has a standard error of
+ * approximately 1.04/sqrt(2^precision). This class is not thread-safe.
+ */
+final class HyperLogLog
+{
+  private final int _precision;
+  private final byte[] _registers;
+
+  HyperLogLog( final int precision )
+  {
+    assert precision >= 4 && precision <= 16;
+    _precision = precision;
+    _registers = new byte[ 1 << precision ];
+  }
+
+  void add( final long hash )
+  {
+    final int index = (int) ( hash >>> ( 64 - _precision ) );
+    // The rank is the position of the first set bit in the remaining bits. The sentinel bit bounds the rank.
+    final long remaining = ( hash << _precision ) | ( 1L << ( _precision - 1 ) );
+    final byte rank = (byte) ( Long.numberOfLeadingZeros( remaining ) + 1 );
+    if ( rank > _registers[ index ] )
+    {
+      _registers[ index ] = rank;
+    }
+  }
+
+  long estimate()
+  {
+    final int m = _registers.length;
+    double sum = 0;
+    int zeroRegisters = 0;
+    for ( final byte register : _registers )
+    {
+      sum += 1.0 / ( 1L << register );
+      if ( 0 == register )
+      {
+        zeroRegisters++;
+      }
+    }
+    final double alpha = 0.7213 / ( 1 + 1.079 / m );
+    final double estimate = alpha * m * m / sum;
+    if ( estimate <= 2.5 * m && 0 != zeroRegisters )
+    {
+      // Linear counting is more accurate for small cardinalities
+      return Math.round( m * Math.log( (double) m / zeroRegisters ) );
+    }
+    else
+    {
+      return Math.round( estimate );
+    }
+  }
+}
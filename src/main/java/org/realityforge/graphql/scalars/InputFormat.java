@@ -0,0 +1,101 @@
+package org.realityforge.graphql.scalars;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The shape of a string supplied to a date scalar in lenient mode.
+ * The shape is determined by a single scan of the characters and is used to dispatch
+ * directly to the appropriate parser. A classification only describes the shape of the
+ * text and the parser is still responsible for validating the field values.
+ */
+enum InputFormat
+{
+  /**
+   * A date in the form 'yyyy-MM-dd'.
+   */
+  ISO_DATE,
+  /**
+   * A date in the form 'yyyyMMdd'.
+   */
+  BASIC_DATE,
+  /**
+   * A date-time in the form 'yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]]'.
+   */
+  ISO_DATE_TIME,
+  /**
+   * A date-time in the form 'yyyyMMddTHHmm[ss[.SSSSSSSSS]]'.
+   */
+  BASIC_DATE_TIME,
+  /**
+   * An optionally negative integer of at most 18 digits, interpreted as an epoch value.
+   */
+  INTEGER,
+  /**
+   * Any other text.
+   */
+  UNKNOWN;
+
+  /**
+   * The maximum number of digits in an INTEGER. This ensures the value can not overflow a long.
+   */
+  static final int MAX_INTEGER_DIGITS = 18;
+  /**
+   * The positions of the non-digit characters within the first 11 characters of an ISO date-time.
+   */
+  private static final int ISO_DATE_MASK = ( 1 << 4 ) | ( 1 << 7 );
+  private static final int ISO_DATE_TIME_MASK = ISO_DATE_MASK | ( 1 << 10 );
+  private static final int BASIC_DATE_TIME_MASK = 1 << 8;
+
+  @Nonnull
+  static InputFormat classify( @Nonnull final CharSequence text )
+  {
+    final int length = text.length();
+    int nonDigitCount = 0;
+    // Bit i is set if the character at position i, for i < 11, is not a digit
+    int nonDigitMask = 0;
+    for ( int i = 0; i < length; i++ )
+    {
+      final char ch = text.charAt( i );
+      if ( ch < '0' || ch > '9' )
+      {
+        nonDigitCount++;
+        if ( i < 11 )
+        {
+          nonDigitMask |= 1 << i;
+        }
+      }
+    }
+
+    if ( 0 == nonDigitCount )
+    {
+      return 8 == length ? BASIC_DATE :
+             length > 0 && length <= MAX_INTEGER_DIGITS ? INTEGER :
+             UNKNOWN;
+    }
+    else if ( 1 == nonDigitCount && 1 == nonDigitMask && '-' == text.charAt( 0 ) )
+    {
+      return length > 1 && length <= MAX_INTEGER_DIGITS + 1 ? INTEGER : UNKNOWN;
+    }
+    else if ( DateTimes.ISO_DATE_LENGTH == length && ISO_DATE_MASK == nonDigitMask && isIsoDatePrefix( text ) )
+    {
+      return ISO_DATE;
+    }
+    else if ( length > 11 && ISO_DATE_TIME_MASK == nonDigitMask && isIsoDatePrefix( text ) && 'T' == text.charAt( 10 ) )
+    {
+      return ISO_DATE_TIME;
+    }
+    else if ( length > 9 && BASIC_DATE_TIME_MASK == ( nonDigitMask & 0x1FF ) && 'T' == text.charAt( 8 ) )
+    {
+      return BASIC_DATE_TIME;
+    }
+    else
+    {
+      return UNKNOWN;
+    }
+  }
+
+  private static boolean isIsoDatePrefix( @Nonnull final CharSequence text )
+  {
+    return '-' == text.charAt( 4 ) && '-' == text.charAt( 7 );
+  }
+}
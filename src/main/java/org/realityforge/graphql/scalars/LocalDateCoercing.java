@@ -7,38 +7,50 @@ import graphql.schema.CoercingParseLiteralException;
 import graphql.schema.CoercingParseValueException;
 import graphql.schema.CoercingSerializeException;
 import java.time.DateTimeException;
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAccessor;
 import java.util.Date;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 
 final class LocalDateCoercing
   implements Coercing<LocalDate, String>
 {
+  @Nonnull
+  private final DateScalarConfig _config;
+
+  LocalDateCoercing()
+  {
+    this( DateScalarConfig.DEFAULT );
+  }
+
+  LocalDateCoercing( @Nonnull final DateScalarConfig config )
+  {
+    _config = Objects.requireNonNull( config );
+  }
+
   @Nonnull
   @Override
   public String serialize( @Nonnull final Object input )
   {
-    if ( input instanceof TemporalAccessor )
+    if ( _config.acceptTemporal() && input instanceof TemporalAccessor )
     {
       return serializeTemporalAccessor( input, (TemporalAccessor) input );
     }
-    else if ( input instanceof Date )
+    else if ( _config.acceptTemporal() && input instanceof Date )
     {
       return serializeDate( (Date) input );
     }
-    else if ( input instanceof String )
+    else if ( _config.acceptString() && input instanceof String )
     {
       return serializeString( (String) input );
     }
     else
     {
       final String message = "Failed to serialize value " + input + " as a LocalDate. Expected a " +
-                             "type 'String', 'java.util.Date' or 'java.time.temporal.TemporalAccessor' " +
+                             "type " + _config.getExpectedSerializeTypes() + " " +
                              "but was '" + input.getClass().getName() + "'.";
       throw new CoercingSerializeException( message );
     }
@@ -53,13 +65,32 @@ final class LocalDateCoercing
   @Nonnull
   private String serializeDate( @Nonnull final Date date )
   {
-    return date.toInstant().atZone( ZoneId.systemDefault() ).format( DateTimeFormatter.ISO_LOCAL_DATE );
+    return serializeLocalDate( DateTimes.toLocalDate( date.getTime(), _config.getZone() ) );
+  }
+
+  @Nonnull
+  private String serializeLocalDate( @Nonnull final LocalDate date )
+  {
+    final SerializedValueTable table = SerializedValueTableHolder.current();
+    if ( null == table )
+    {
+      return DateTimes.format( date );
+    }
+    else
+    {
+      final String serialized = table.get( date );
+      return null != serialized ? serialized : table.intern( date, DateTimes.format( date ) );
+    }
   }
 
   @Nonnull
   private String serializeTemporalAccessor( @Nonnull final Object input,
                                             @Nonnull final TemporalAccessor temporalAccessor )
   {
+    if ( temporalAccessor instanceof LocalDate )
+    {
+      return serializeLocalDate( (LocalDate) temporalAccessor );
+    }
     try
     {
       return DateTimeFormatter.ISO_LOCAL_DATE.format( temporalAccessor );
@@ -96,24 +127,21 @@ final class LocalDateCoercing
   @Override
   public LocalDate parseValue( @Nonnull final Object input )
   {
-    final LocalDate date = doParseValue( input );
-    if ( isInvalidYear( date ) )
+    final long epochDay = doParseValue( input );
+    if ( !_config.isInRange( epochDay ) )
     {
-      final String message =
-        "LocalDate value " + input + " must be between January 1, 1753 and December 31, 9999. Received: " + date;
-      throw new CoercingParseValueException( message );
+      throw newOutOfRangeException( input, LocalDate.ofEpochDay( epochDay ), false );
     }
-    return date;
+    return LocalDate.ofEpochDay( epochDay );
   }
 
-  @Nonnull
-  private LocalDate doParseValue( @Nonnull final Object input )
+  private long doParseValue( @Nonnull final Object input )
   {
-    if ( input instanceof String )
+    if ( _config.acceptString() && input instanceof String )
     {
       try
       {
-        return parseLocalDate( (String) input );
+        return parseEpochDay( input, (String) input, false );
       }
       catch ( final DateTimeParseException e )
       {
@@ -122,14 +150,14 @@ final class LocalDateCoercing
         throw new CoercingParseValueException( message );
       }
     }
-    else if ( input instanceof Number )
+    else if ( _config.acceptEpochMillis() && input instanceof Number )
     {
-      return parseLocalDate( ( (Number) input ).longValue() );
+      return toEpochDay( input, ( (Number) input ).longValue(), false );
     }
     else
     {
       final String message = "Error parsing literal " + input + " as it is the incorrect type. " +
-                             "Expected a string or an integer.";
+                             "Expected " + _config.getExpectedParseTypes() + ".";
       throw new CoercingParseValueException( message );
     }
   }
@@ -138,25 +166,26 @@ final class LocalDateCoercing
   @Override
   public LocalDate parseLiteral( @Nonnull final Object input )
   {
-    final LocalDate date = doParseLiteral( input );
-    if ( isInvalidYear( date ) )
+    final long epochDay = doParseLiteral( input );
+    if ( !_config.isInRange( epochDay ) )
     {
-      final String message =
-        "LocalDate literal " + input + " must be between January 1, 1753 and December 31, 9999. Received: " + date;
-      throw new CoercingParseLiteralException( message );
+      throw newOutOfRangeException( input, LocalDate.ofEpochDay( epochDay ), true );
     }
-    return date;
+    return LocalDate.ofEpochDay( epochDay );
   }
 
-  @Nonnull
-  private LocalDate doParseLiteral( @Nonnull final Object input )
+  private long doParseLiteral( @Nonnull final Object input )
   {
-    if ( input instanceof StringValue )
+    if ( _config.acceptString() && input instanceof StringValue )
     {
       final String value = ( (StringValue) input ).getValue();
       try
       {
-        return parseLocalDate( value );
+        return parseEpochDay( input, value, true );
+      }
+      catch ( final CoercingParseLiteralException e )
+      {
+        throw e;
       }
       catch ( final Throwable t )
       {
@@ -165,14 +194,14 @@ final class LocalDateCoercing
         throw new CoercingParseLiteralException( message );
       }
     }
-    else if ( input instanceof IntValue )
+    else if ( _config.acceptEpochMillis() && input instanceof IntValue )
     {
-      return parseLocalDate( ( (IntValue) input ).getValue().longValue() );
+      return toEpochDay( input, ( (IntValue) input ).getValue().longValue(), true );
     }
     else
     {
       final String message = "Error parsing literal " + input + " as it is the incorrect type. " +
-                             "Expected a string or an integer.";
+                             "Expected " + _config.getExpectedParseTypes() + ".";
       throw new CoercingParseLiteralException( message );
     }
   }
@@ -180,18 +209,81 @@ final class LocalDateCoercing
   @Nonnull
   private LocalDate parseLocalDate( @Nonnull final String value )
   {
-    return LocalDate.from( DateTimeFormatter.ISO_LOCAL_DATE.parse( value ) );
+    final LocalDate date = DateTimes.tryParseLocalDate( value );
+    return null != date ? date : LocalDate.from( DateTimeFormatter.ISO_LOCAL_DATE.parse( value ) );
   }
 
-  @Nonnull
-  private LocalDate parseLocalDate( final long epochMilli )
+  /**
+   * Parse the value to an epoch day, only creating a LocalDate if the value is not in the common ISO form.
+   */
+  private long parseEpochDay( @Nonnull final Object input, @Nonnull final String value, final boolean literal )
   {
-    return LocalDate.from( Instant.ofEpochMilli( epochMilli ).atZone( ZoneId.systemDefault() ) );
+    if ( _config.isLenient() )
+    {
+      return parseLenientEpochDay( input, value, literal );
+    }
+    else if ( DateTimes.ISO_DATE_LENGTH == value.length() )
+    {
+      final int date = DateTimes.parseIsoDate( value, 0 );
+      if ( -1 != date )
+      {
+        return DateTimes.toEpochDay( date );
+      }
+    }
+    return LocalDate.from( DateTimeFormatter.ISO_LOCAL_DATE.parse( value ) ).toEpochDay();
   }
 
-  private static boolean isInvalidYear( @Nonnull final LocalDate date )
+  /**
+   * Classify the value in a single pass and dispatch to the matching parser.
+   * Only values that are not in one of the recognized forms reach the formatter.
+   */
+  private long parseLenientEpochDay( @Nonnull final Object input, @Nonnull final String value, final boolean literal )
+  {
+    final int date;
+    switch ( InputFormat.classify( value ) )
+    {
+      case ISO_DATE:
+        date = DateTimes.parseIsoDate( value, 0 );
+        break;
+      case BASIC_DATE:
+        date = DateTimes.parseBasicDate( value, 0 );
+        break;
+      case INTEGER:
+        return toEpochDay( input, DateTimes.parseInteger( value ), literal );
+      default:
+        date = -1;
+        break;
+    }
+    return -1 != date ?
+           DateTimes.toEpochDay( date ) :
+           LocalDate.from( DateTimeFormatter.ISO_LOCAL_DATE.parse( value ) ).toEpochDay();
+  }
+
+  /**
+   * Convert the epoch value to an epoch day in the configured zone.
+   * Values that are outside the range in every zone are rejected before the zone is resolved.
+   * The zone is only resolved for such values to describe the error.
+   */
+  private long toEpochDay( @Nonnull final Object input, final long epochValue, final boolean literal )
+  {
+    final long epochMilli = _config.toEpochMilli( epochValue );
+    if ( !_config.isEpochMilliInBounds( epochMilli ) )
+    {
+      throw newOutOfRangeException( input, DateTimes.toLocalDate( epochMilli, _config.getZone() ), literal );
+    }
+    return DateTimes.toEpochDay( epochMilli, _config.getZone() );
+  }
+
+  /**
+   * Create the exception reported when a value is outside the permitted range.
+   */
+  @Nonnull
+  private RuntimeException newOutOfRangeException( @Nonnull final Object input,
+                                                   @Nonnull final Object received,
+                                                   final boolean literal )
   {
-    final int year = date.getYear();
-    return !( year >= 1753 && year <= 9999 );
+    final String message = "LocalDate " + ( literal ? "literal " : "value " ) + input + " must be " +
+                           _config.getRangeDescription() + ". Received: " + received;
+    return literal ? new CoercingParseLiteralException( message ) : new CoercingParseValueException( message );
   }
 }
@@ -6,40 +6,52 @@ import graphql.schema.Coercing;
 import graphql.schema.CoercingParseLiteralException;
 import graphql.schema.CoercingParseValueException;
 import graphql.schema.CoercingSerializeException;
-import java.math.BigInteger;
 import java.time.DateTimeException;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAccessor;
 import java.util.Date;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 
 final class LocalDateTimeCoercing
   implements Coercing<LocalDateTime, String>
 {
+  @Nonnull
+  private final DateScalarConfig _config;
+
+  LocalDateTimeCoercing()
+  {
+    this( DateScalarConfig.DEFAULT );
+  }
+
+  LocalDateTimeCoercing( @Nonnull final DateScalarConfig config )
+  {
+    _config = Objects.requireNonNull( config );
+  }
+
   @Nonnull
   @Override
   public String serialize( @Nonnull final Object input )
   {
-    if ( input instanceof TemporalAccessor )
+    if ( _config.acceptTemporal() && input instanceof TemporalAccessor )
     {
       return serializeTemporalAccessor( input, (TemporalAccessor) input );
     }
-    else if ( input instanceof Date )
+    else if ( _config.acceptTemporal() && input instanceof Date )
     {
       return serializeDate( (Date) input );
     }
-    else if ( input instanceof String )
+    else if ( _config.acceptString() && input instanceof String )
     {
       return serializeString( (String) input );
     }
     else
     {
       final String message = "Failed to serialize value " + input + " as a LocalDateTime. Expected a " +
-                             "type 'String', 'java.util.Date' or 'java.time.temporal.TemporalAccessor' " +
+                             "type " + _config.getExpectedSerializeTypes() + " " +
                              "but was '" + input.getClass().getName() + "'.";
       throw new CoercingSerializeException( message );
     }
@@ -55,6 +67,10 @@ final class LocalDateTimeCoercing
   private String serializeTemporalAccessor( @Nonnull final Object input,
                                             @Nonnull final TemporalAccessor temporalAccessor )
   {
+    if ( temporalAccessor instanceof LocalDateTime )
+    {
+      return serializeLocalDateTime( (LocalDateTime) temporalAccessor );
+    }
     try
     {
       return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format( temporalAccessor );
@@ -68,7 +84,22 @@ final class LocalDateTimeCoercing
   @Nonnull
   private String serializeDate( @Nonnull final Date date )
   {
-    return date.toInstant().atZone( ZoneId.systemDefault() ).format( DateTimeFormatter.ISO_LOCAL_DATE_TIME );
+    return serializeLocalDateTime( DateTimes.toLocalDateTime( date.getTime(), _config.getZone() ) );
+  }
+
+  @Nonnull
+  private String serializeLocalDateTime( @Nonnull final LocalDateTime dateTime )
+  {
+    final SerializedValueTable table = SerializedValueTableHolder.current();
+    if ( null == table )
+    {
+      return DateTimes.format( dateTime );
+    }
+    else
+    {
+      final String serialized = table.get( dateTime );
+      return null != serialized ? serialized : table.intern( dateTime, DateTimes.format( dateTime ) );
+    }
   }
 
   @Nonnull
@@ -97,25 +128,15 @@ final class LocalDateTimeCoercing
   @Override
   public LocalDateTime parseValue( @Nonnull final Object input )
   {
-    final LocalDateTime date = doParseValue( input );
-    if ( isInvalidYear( date ) )
-    {
-      final String message =
-        "LocalDateTime value " + input + " must be between January 1, 1753 and December 31, 9999. Received: " + date;
-      throw new CoercingParseValueException( message );
-    }
-
-    return date;
-  }
-
-  @Nonnull
-  private LocalDateTime doParseValue( @Nonnull final Object input )
-  {
-    if ( input instanceof String )
+    if ( _config.acceptString() && input instanceof String )
     {
       try
       {
-        return parseLocalDateTime( (String) input );
+        return parseInputLocalDateTime( input, (String) input, false );
+      }
+      catch ( final CoercingParseValueException e )
+      {
+        throw e;
       }
       catch ( final Throwable t )
       {
@@ -124,14 +145,14 @@ final class LocalDateTimeCoercing
         throw new CoercingParseValueException( message );
       }
     }
-    else if ( input instanceof Number )
+    else if ( _config.acceptEpochMillis() && input instanceof Number )
     {
-      return parseLocalDateTime( ( (Number) input ).longValue() );
+      return parseLocalDateTime( input, ( (Number) input ).longValue(), false );
     }
     else
     {
       final String message = "Error parsing literal " + input + " as it is the incorrect type. " +
-                             "Expected a string or an integer.";
+                             "Expected " + _config.getExpectedParseTypes() + ".";
       throw new CoercingParseValueException( message );
     }
   }
@@ -140,26 +161,16 @@ final class LocalDateTimeCoercing
   @Override
   public LocalDateTime parseLiteral( @Nonnull final Object input )
   {
-    final LocalDateTime date = doParseLiteral( input );
-    if ( isInvalidYear( date ) )
-    {
-      final String message =
-        "LocalDateTime literal " + input + " must be between January 1, 1753 and December 31, 9999. Received: " + date;
-      throw new CoercingParseLiteralException( message );
-    }
-
-    return date;
-  }
-
-  @Nonnull
-  private LocalDateTime doParseLiteral( @Nonnull final Object input )
-  {
-    if ( input instanceof StringValue )
+    if ( _config.acceptString() && input instanceof StringValue )
     {
       final String value = ( (StringValue) input ).getValue();
       try
       {
-        return parseLocalDateTime( value );
+        return parseInputLocalDateTime( input, value, true );
+      }
+      catch ( final CoercingParseLiteralException e )
+      {
+        throw e;
       }
       catch ( final Throwable t )
       {
@@ -168,39 +179,154 @@ final class LocalDateTimeCoercing
         throw new CoercingParseLiteralException( message, t );
       }
     }
-    else if ( input instanceof IntValue )
+    else if ( _config.acceptEpochMillis() && input instanceof IntValue )
     {
-      return parseLocalDateTime( ( (IntValue) input ).getValue() );
+      return parseLocalDateTime( input, ( (IntValue) input ).getValue().longValue(), true );
     }
     else
     {
       final String message = "Error parsing literal " + input + " as it is the incorrect type. " +
-                             "Expected a string or an integer.";
+                             "Expected " + _config.getExpectedParseTypes() + ".";
       throw new CoercingParseLiteralException( message );
     }
   }
 
+  /**
+   * Convert the epoch value to a LocalDateTime, checking the range before the LocalDateTime is created.
+   * Values that are outside the range in every zone are rejected before the zone is resolved.
+   * The zone is only resolved for such values to describe the error.
+   */
+  @Nonnull
+  private LocalDateTime parseLocalDateTime( @Nonnull final Object input, final long epochValue, final boolean literal )
+  {
+    final long epochMilli = _config.toEpochMilli( epochValue );
+    if ( !_config.isEpochMilliInBounds( epochMilli ) )
+    {
+      throw newOutOfRangeException( input, DateTimes.toLocalDateTime( epochMilli, _config.getZone() ), literal );
+    }
+    final ZoneOffset offset = DateTimes.getOffset( epochMilli, _config.getZone() );
+    if ( !_config.isInRange( DateTimes.toEpochDay( epochMilli, offset ) ) )
+    {
+      throw newOutOfRangeException( input, DateTimes.toLocalDateTime( epochMilli, offset ), literal );
+    }
+    return DateTimes.toLocalDateTime( epochMilli, offset );
+  }
+
   @Nonnull
-  private LocalDateTime parseLocalDateTime( @Nonnull final BigInteger value )
+  private LocalDateTime parseInputLocalDateTime( @Nonnull final Object input,
+                                                 @Nonnull final String value,
+                                                 final boolean literal )
   {
-    return parseLocalDateTime( value.longValue() );
+    return _config.isLenient() ?
+           parseLenientLocalDateTime( input, value, literal ) :
+           parseLocalDateTime( input, value, literal );
   }
 
+  /**
+   * Classify the value in a single pass and dispatch to the matching parser.
+   * Only values that are not in one of the recognized forms reach the formatter.
+   * Dates without a time are interpreted as the start of the day.
+   */
   @Nonnull
-  private LocalDateTime parseLocalDateTime( final long epochMilli )
+  private LocalDateTime parseLenientLocalDateTime( @Nonnull final Object input,
+                                                   @Nonnull final String value,
+                                                   final boolean literal )
   {
-    return LocalDateTime.from( Instant.ofEpochMilli( epochMilli ).atZone( ZoneId.systemDefault() ) );
+    final int date;
+    final long nanoOfDay;
+    switch ( InputFormat.classify( value ) )
+    {
+      case ISO_DATE:
+        date = DateTimes.parseIsoDate( value, 0 );
+        nanoOfDay = 0;
+        break;
+      case BASIC_DATE:
+        date = DateTimes.parseBasicDate( value, 0 );
+        nanoOfDay = 0;
+        break;
+      case ISO_DATE_TIME:
+        date = DateTimes.parseIsoDate( value, 0 );
+        nanoOfDay = DateTimes.parseIsoTime( value, DateTimes.ISO_DATE_LENGTH + 1 );
+        break;
+      case BASIC_DATE_TIME:
+        date = DateTimes.parseBasicDate( value, 0 );
+        nanoOfDay = DateTimes.parseBasicTime( value, 9 );
+        break;
+      case INTEGER:
+        return parseLocalDateTime( input, DateTimes.parseInteger( value ), literal );
+      default:
+        date = -1;
+        nanoOfDay = -1;
+        break;
+    }
+    return -1 != date && -1 != nanoOfDay ?
+           toLocalDateTime( input, date, nanoOfDay, literal ) :
+           checkInRange( input, LocalDateTime.parse( value ), literal );
+  }
+
+  /**
+   * Parse the value, checking the range before the LocalDateTime is created if the value is in the common ISO form.
+   */
+  @Nonnull
+  private LocalDateTime parseLocalDateTime( @Nonnull final Object input,
+                                            @Nonnull final String value,
+                                            final boolean literal )
+  {
+    if ( value.length() > DateTimes.ISO_DATE_LENGTH && 'T' == value.charAt( DateTimes.ISO_DATE_LENGTH ) )
+    {
+      final int date = DateTimes.parseIsoDate( value, 0 );
+      final long nanoOfDay = -1 == date ? -1 : DateTimes.parseIsoTime( value, DateTimes.ISO_DATE_LENGTH + 1 );
+      if ( -1 != nanoOfDay )
+      {
+        return toLocalDateTime( input, date, nanoOfDay, literal );
+      }
+    }
+    return checkInRange( input, LocalDateTime.parse( value ), literal );
   }
 
   @Nonnull
   private LocalDateTime parseLocalDateTime( @Nonnull final String value )
   {
-    return LocalDateTime.parse( value );
+    final LocalDateTime dateTime = DateTimes.tryParseLocalDateTime( value );
+    return null != dateTime ? dateTime : LocalDateTime.parse( value );
   }
 
-  private boolean isInvalidYear( @Nonnull final LocalDateTime date )
+  @Nonnull
+  private LocalDateTime toLocalDateTime( @Nonnull final Object input,
+                                         final int date,
+                                         final long nanoOfDay,
+                                         final boolean literal )
+  {
+    if ( !_config.isInRange( DateTimes.toEpochDay( date ) ) )
+    {
+      throw newOutOfRangeException( input, DateTimes.toLocalDateTime( date, nanoOfDay ), literal );
+    }
+    return DateTimes.toLocalDateTime( date, nanoOfDay );
+  }
+
+  @Nonnull
+  private LocalDateTime checkInRange( @Nonnull final Object input,
+                                      @Nonnull final LocalDateTime dateTime,
+                                      final boolean literal )
+  {
+    if ( !_config.isInRange( dateTime.toLocalDate().toEpochDay() ) )
+    {
+      throw newOutOfRangeException( input, dateTime, literal );
+    }
+    return dateTime;
+  }
+
+  /**
+   * Create the exception reported when a value is outside the permitted range.
+   * The received value is only created to describe the error.
+   */
+  @Nonnull
+  private RuntimeException newOutOfRangeException( @Nonnull final Object input,
+                                                   @Nonnull final Object received,
+                                                   final boolean literal )
   {
-    final int year = date.getYear();
-    return !( year >= 1753 && year <= 9999 );
+    final String message = "LocalDateTime " + ( literal ? "literal " : "value " ) + input + " must be " +
+                           _config.getRangeDescription() + ". Received: " + received;
+    return literal ? new CoercingParseLiteralException( message ) : new CoercingParseValueException( message );
   }
 }
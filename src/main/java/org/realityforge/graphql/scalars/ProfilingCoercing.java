@@ -0,0 +1,66 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import javax.annotation.Nonnull;
+
+/**
+ * A coercing that records the values presented to each operation before delegating to the wrapped coercing.
+ */
+final class ProfilingCoercing
+  implements Coercing<Object, Object>
+{
+  @Nonnull
+  private final Coercing<?, ?> _coercing;
+  @Nonnull
+  private final ValueProfile _serializeProfile;
+  @Nonnull
+  private final ValueProfile _parseValueProfile;
+  @Nonnull
+  private final ValueProfile _parseLiteralProfile;
+
+  ProfilingCoercing( @Nonnull final Coercing<?, ?> coercing,
+                     @Nonnull final ValueProfile serializeProfile,
+                     @Nonnull final ValueProfile parseValueProfile,
+                     @Nonnull final ValueProfile parseLiteralProfile )
+  {
+    _coercing = coercing;
+    _serializeProfile = serializeProfile;
+    _parseValueProfile = parseValueProfile;
+    _parseLiteralProfile = parseLiteralProfile;
+  }
+
+  @Override
+  public Object serialize( @Nonnull final Object input )
+  {
+    _serializeProfile.record( input );
+    return _coercing.serialize( input );
+  }
+
+  @Override
+  public Object parseValue( @Nonnull final Object input )
+  {
+    _parseValueProfile.record( input );
+    return _coercing.parseValue( input );
+  }
+
+  @Override
+  public Object parseLiteral( @Nonnull final Object input )
+  {
+    // Literal nodes do not implement equals so record the underlying value
+    if ( input instanceof StringValue )
+    {
+      _parseLiteralProfile.record( ( (StringValue) input ).getValue() );
+    }
+    else if ( input instanceof IntValue )
+    {
+      _parseLiteralProfile.record( ( (IntValue) input ).getValue() );
+    }
+    else
+    {
+      _parseLiteralProfile.record( input );
+    }
+    return _coercing.parseLiteral( input );
+  }
+}
@@ -0,0 +1,87 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded buffer of sampled values that many threads add to without locking.
+ * Values are removed in the order they were added by a single consumer at a time. The caller is
+ * responsible for ensuring there is a single consumer, such as by polling while holding a lock.
+ * Values offered while the buffer is full are rejected rather than waiting for the consumer.
+ */
+final class SampleBuffer
+{
+  private final int _mask;
+  @Nonnull
+  private final AtomicReferenceArray<Object> _values;
+  /**
+   * The number of slots claimed by producers.
+   */
+  @Nonnull
+  private final AtomicLong _tail = new AtomicLong();
+  /**
+   * The number of values removed. Only written by the consumer.
+   */
+  private volatile long _head;
+
+  SampleBuffer( final int capacity )
+  {
+    assert capacity > 0 && 0 == ( capacity & ( capacity - 1 ) );
+    _mask = capacity - 1;
+    _values = new AtomicReferenceArray<>( capacity );
+  }
+
+  /**
+   * Add the value to the buffer and return true, or return false if the buffer is full.
+   */
+  boolean offer( @Nonnull final Object value )
+  {
+    while ( true )
+    {
+      final long tail = _tail.get();
+      if ( tail - _head > _mask )
+      {
+        return false;
+      }
+      else if ( _tail.compareAndSet( tail, tail + 1 ) )
+      {
+        _values.lazySet( (int) tail & _mask, value );
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Remove and return the oldest value, or return null if the buffer is empty.
+   * Null is also returned if the producer that claimed the oldest slot has yet to store its value.
+   * That value is returned by a later call.
+   */
+  @Nullable
+  Object poll()
+  {
+    final long head = _head;
+    if ( head == _tail.get() )
+    {
+      return null;
+    }
+    final int index = (int) head & _mask;
+    final Object value = _values.get( index );
+    if ( null != value )
+    {
+      // The slot must be cleared before it is released to producers
+      _values.lazySet( index, null );
+      _head = head + 1;
+    }
+    return value;
+  }
+
+  /**
+   * Return the number of slots that have been claimed but not yet polled.
+   */
+  int size()
+  {
+    return (int) ( _tail.get() - _head );
+  }
+}
@@ -1,29 +1,63 @@
 package org.realityforge.graphql.scalars;
 
+import graphql.schema.Coercing;
 import graphql.schema.GraphQLScalarType;
+import javax.annotation.Nonnull;
 
 public final class Scalars
 {
+  @Nonnull
+  private static final String LOCAL_DATE_TIME_NAME = "LocalDateTime";
+  @Nonnull
+  private static final String LOCAL_DATE_TIME_DESCRIPTION = "An ISO-8601 extended offset date-time format Scalat";
+  @Nonnull
+  private static final String LOCAL_DATE_NAME = "LocalDate";
+  @Nonnull
+  private static final String LOCAL_DATE_DESCRIPTION = "An ISO-8601 extended local date format Scalar";
   /**
    * A scalar that formats/parses a date-time without an offset, such as '2011-12-03T10:15:30'.
    */
-  public static GraphQLScalarType LOCAL_DATE_TIME =
-    GraphQLScalarType.newScalar()
-      .name( "LocalDateTime" )
-      .description( "An ISO-8601 extended offset date-time format Scalat" )
-      .coercing( new LocalDateTimeCoercing() )
-      .build();
+  public static final GraphQLScalarType LOCAL_DATE_TIME =
+    newScalar( LOCAL_DATE_TIME_NAME, LOCAL_DATE_TIME_DESCRIPTION, new LocalDateTimeCoercing() );
   /**
    * A scalar that formats/parses a date without an offset, such as '2011-12-03'.
    */
-  public static GraphQLScalarType LOCAL_DATE =
-    GraphQLScalarType.newScalar()
-      .name( "LocalDate" )
-      .description( "An ISO-8601 extended local date format Scalar" )
-      .coercing( new LocalDateCoercing() )
-      .build();
+  public static final GraphQLScalarType LOCAL_DATE =
+    newScalar( LOCAL_DATE_NAME, LOCAL_DATE_DESCRIPTION, new LocalDateCoercing() );
 
   private Scalars()
   {
   }
+
+  /**
+   * Create a builder for a scalar that formats/parses a date-time without an offset.
+   * The builder is initially configured to produce a scalar equivalent to {@link #LOCAL_DATE_TIME}.
+   */
+  @Nonnull
+  public static DateScalarBuilder newLocalDateTimeScalar()
+  {
+    return new DateScalarBuilder( true, LOCAL_DATE_TIME_NAME, LOCAL_DATE_TIME_DESCRIPTION );
+  }
+
+  /**
+   * Create a builder for a scalar that formats/parses a date without an offset.
+   * The builder is initially configured to produce a scalar equivalent to {@link #LOCAL_DATE}.
+   */
+  @Nonnull
+  public static DateScalarBuilder newLocalDateScalar()
+  {
+    return new DateScalarBuilder( false, LOCAL_DATE_NAME, LOCAL_DATE_DESCRIPTION );
+  }
+
+  /**
+   * Create a scalar with the default configuration.
+   * The default scalars are not created via a builder so that the builder is not initialized with this class.
+   */
+  @Nonnull
+  private static GraphQLScalarType newScalar( @Nonnull final String name,
+                                              @Nonnull final String description,
+                                              @Nonnull final Coercing<?, ?> coercing )
+  {
+    return GraphQLScalarType.newScalar().name( name ).description( description ).coercing( coercing ).build();
+  }
 }
@@ -0,0 +1,48 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
+import javax.annotation.Nonnull;
+
+/**
+ * Instrumentation that causes the date scalars to return a single String instance for each distinct
+ * value serialized within an execution. This reduces the size of the result when the same date
+ * appears many times in a response. The table of serialized values is scoped to the execution and is
+ * discarded when the execution completes, whether it completes normally or exceptionally.
+ *
+ * <p>The instrumentation is registered when building the {@link graphql.GraphQL} instance. i.e.</p>
+ * <pre>{@code
+ * GraphQL.newGraphQL( schema ).instrumentation( new SerializedValueDeduplicationInstrumentation() ).build();
+ * }</pre>
+ */
+public final class SerializedValueDeduplicationInstrumentation
+  extends SimpleInstrumentation
+{
+  @Nonnull
+  @Override
+  public InstrumentationState createState()
+  {
+    return new SerializedValueTable();
+  }
+
+  @Nonnull
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecution( @Nonnull final InstrumentationExecutionParameters parameters )
+  {
+    final SerializedValueTable table = parameters.getInstrumentationState();
+    return SimpleInstrumentationContext.whenCompleted( ( result, throwable ) -> table.complete() );
+  }
+
+  @Nonnull
+  @Override
+  public InstrumentationContext<ExecutionResult> beginFieldComplete( @Nonnull final InstrumentationFieldCompleteParameters parameters )
+  {
+    final SerializedValueTable table = parameters.getInstrumentationState();
+    return table.activate();
+  }
+}
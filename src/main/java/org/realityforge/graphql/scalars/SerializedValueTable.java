@@ -0,0 +1,100 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A table of canonical serialized values for a single execution.
+ * The table is made current on a thread while a field is being completed so that the coercings
+ * can return the same String instance for equal values. The table is completed when the execution
+ * completes, after which it is emptied and never treated as current. This ensures that a table left
+ * current on a thread, because field completion failed before it was dispatched, does not outlive
+ * the execution. The current table is held by {@link SerializedValueTableHolder}.
+ *
+ * @see SerializedValueDeduplicationInstrumentation
+ */
+final class SerializedValueTable
+  implements InstrumentationState
+{
+  /**
+   * Map from the value being serialized to the canonical serialized form.
+   * Keys must be immutable values such as {@link java.time.LocalDate}. Fields may be completed
+   * concurrently so the map must support concurrent access.
+   */
+  @Nonnull
+  private final ConcurrentHashMap<Object, String> _values = new ConcurrentHashMap<>();
+  /**
+   * Flag set when the execution completes.
+   */
+  private volatile boolean _completed;
+
+  /**
+   * Make this table current on this thread until the returned context is dispatched.
+   * Field completion nests so the previously current table is restored on dispatch.
+   */
+  @Nonnull
+  InstrumentationContext<ExecutionResult> activate()
+  {
+    final SerializedValueTable previous = SerializedValueTableHolder.current();
+    SerializedValueTableHolder.setCurrent( this );
+    return new InstrumentationContext<ExecutionResult>()
+    {
+      @Override
+      public void onDispatched( final CompletableFuture<ExecutionResult> result )
+      {
+        SerializedValueTableHolder.setCurrent( previous );
+      }
+
+      @Override
+      public void onCompleted( final ExecutionResult result, final Throwable t )
+      {
+      }
+    };
+  }
+
+  /**
+   * Mark the execution as completed and discard the recorded values.
+   * The table is also removed from the current thread if it is current.
+   */
+  void complete()
+  {
+    _completed = true;
+    _values.clear();
+    SerializedValueTableHolder.current();
+  }
+
+  boolean isCompleted()
+  {
+    return _completed;
+  }
+
+  /**
+   * Return the canonical serialized form of the value if one has been recorded, else null.
+   */
+  @Nullable
+  String get( @Nonnull final Object value )
+  {
+    return _values.get( value );
+  }
+
+  /**
+   * Record the serialized form of the value unless another form has already been recorded,
+   * and return the canonical serialized form.
+   */
+  @Nonnull
+  String intern( @Nonnull final Object value, @Nonnull final String serialized )
+  {
+    final String existing = _values.putIfAbsent( value, serialized );
+    return null != existing ? existing : serialized;
+  }
+
+  int size()
+  {
+    return _values.size();
+  }
+}
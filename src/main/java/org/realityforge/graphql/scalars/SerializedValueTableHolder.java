@@ -0,0 +1,54 @@
+package org.realityforge.graphql.scalars;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the serialized value table that is current on each thread.
+ * The coercings look up the current table on every serialize. The table is held in this class, which
+ * depends upon no other classes, so that the lookup does not load {@link SerializedValueTable} and the
+ * graphql-java instrumentation classes that it depends upon when deduplication is not in use.
+ */
+final class SerializedValueTableHolder
+{
+  @Nonnull
+  private static final ThreadLocal<SerializedValueTable> c_current = new ThreadLocal<>();
+
+  private SerializedValueTableHolder()
+  {
+  }
+
+  /**
+   * Return the table for the execution currently completing a field on this thread, if any.
+   * A table whose execution has completed is removed from the thread and is not returned.
+   */
+  @Nullable
+  static SerializedValueTable current()
+  {
+    final SerializedValueTable table = c_current.get();
+    if ( null != table && table.isCompleted() )
+    {
+      c_current.remove();
+      return null;
+    }
+    else
+    {
+      return table;
+    }
+  }
+
+  /**
+   * Make the table current on this thread, or remove the current table if the table is null.
+   */
+  static void setCurrent( @Nullable final SerializedValueTable table )
+  {
+    if ( null == table )
+    {
+      c_current.remove();
+    }
+    else
+    {
+      c_current.set( table );
+    }
+  }
+}
@@ -0,0 +1,342 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+
+/**
+ * The profile of the values presented to a single operation of a single scalar.
+ * The memory used is bounded by the precision of the distinct-count estimator, the size of the
+ * count-min sketch, the number of top values retained, the sizes of the simulated caches and the
+ * capacity of the sample buffers.
+ *
+ * <p>Two samples are taken. Values are sampled by hash for the distinct-count estimate and the cache
+ * simulations, which need every occurrence of the sampled values. Occurrences are sampled at random for
+ * the count-min sketch and the top values, so that a frequent value is sampled in proportion to its
+ * frequency whatever its hash.</p>
+ *
+ * <p>Recording threads never wait for the profile. Sampled values are added to a buffer without locking
+ * and the buffers are drained into the estimators by whichever thread acquires the lock without waiting.
+ * If a buffer fills because the estimators can not keep up, further samples are dropped and counted.</p>
+ */
+final class ValueProfile
+{
+  private static final int DISTINCT_PRECISION = 12;
+  private static final int SKETCH_DEPTH = 4;
+  private static final int SKETCH_WIDTH = 1024;
+  private static final int BUFFER_CAPACITY = 256;
+  /**
+   * The number of buffered samples at which a recording thread attempts to drain the buffer.
+   */
+  private static final int DRAIN_THRESHOLD = BUFFER_CAPACITY / 2;
+  @Nonnull
+  private final String _scalarName;
+  @Nonnull
+  private final CoercionOperation _operation;
+  private final int _sampleRate;
+  private final int _topValueCount;
+  @Nonnull
+  private final LongAdder _observedCount = new LongAdder();
+  /**
+   * The number of values sampled by hash that were dropped as the buffer was full.
+   */
+  @Nonnull
+  private final LongAdder _droppedValueCount = new LongAdder();
+  /**
+   * The number of occurrences sampled at random that were dropped as the buffer was full.
+   */
+  @Nonnull
+  private final LongAdder _droppedOccurrenceCount = new LongAdder();
+  /**
+   * The values sampled by hash.
+   */
+  @Nonnull
+  private final SampleBuffer _valueSamples = new SampleBuffer( BUFFER_CAPACITY );
+  /**
+   * The occurrences sampled at random.
+   */
+  @Nonnull
+  private final SampleBuffer _occurrenceSamples = new SampleBuffer( BUFFER_CAPACITY );
+  /**
+   * The lock held while draining samples into the estimators below and while creating a snapshot.
+   */
+  @Nonnull
+  private final ReentrantLock _lock = new ReentrantLock();
+  private long _sampledCount;
+  @Nonnull
+  private final HyperLogLog _distinctValues = new HyperLogLog( DISTINCT_PRECISION );
+  @Nonnull
+  private final CountMinSketch _valueCounts = new CountMinSketch( SKETCH_DEPTH, SKETCH_WIDTH );
+  /**
+   * The values with the highest estimated counts and their hashes.
+   */
+  @Nonnull
+  private final Map<Object, Long> _topValues = new HashMap<>();
+  @Nonnull
+  private final LruCacheSimulator[] _caches;
+
+  ValueProfile( @Nonnull final String scalarName,
+                @Nonnull final CoercionOperation operation,
+                final int sampleRate,
+                final int topValueCount,
+                @Nonnull final int[] cacheSizes )
+  {
+    _scalarName = scalarName;
+    _operation = operation;
+    _sampleRate = sampleRate;
+    _topValueCount = topValueCount;
+    _caches = new LruCacheSimulator[ cacheSizes.length ];
+    for ( int i = 0; i < cacheSizes.length; i++ )
+    {
+      _caches[ i ] = new LruCacheSimulator( cacheSizes[ i ], sampleRate );
+    }
+  }
+
+  /**
+   * Record that the value was observed.
+   * Values are sampled by hash so that either every occurrence of a value is recorded or none are.
+   * This keeps the reuse pattern of the sampled values intact so that the cache simulation remains
+   * representative when scaled by the sample rate. Independently, occurrences are sampled at random
+   * at the same rate so that the most frequent values are found whatever their hash.
+   */
+  void record( @Nonnull final Object value )
+  {
+    _observedCount.increment();
+    final int mask = _sampleRate - 1;
+    boolean sampled = false;
+    if ( 0 == ( hash( value ) & mask ) )
+    {
+      sampled = true;
+      if ( !_valueSamples.offer( value ) )
+      {
+        _droppedValueCount.increment();
+      }
+    }
+    if ( 0 == ( ThreadLocalRandom.current().nextInt() & mask ) )
+    {
+      sampled = true;
+      if ( !_occurrenceSamples.offer( value ) )
+      {
+        _droppedOccurrenceCount.increment();
+      }
+    }
+    if ( sampled &&
+         ( _valueSamples.size() >= DRAIN_THRESHOLD || _occurrenceSamples.size() >= DRAIN_THRESHOLD ) &&
+         _lock.tryLock() )
+    {
+      try
+      {
+        drainSamples();
+      }
+      finally
+      {
+        _lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Record the buffered samples in the estimators. Must be invoked while holding the lock.
+   */
+  private void drainSamples()
+  {
+    // Bound the work so that a recording thread is not kept draining by other threads
+    for ( int i = 0; i < BUFFER_CAPACITY; i++ )
+    {
+      final Object value = _valueSamples.poll();
+      if ( null == value )
+      {
+        break;
+      }
+      // The low bits of every sampled hash are zero so the estimator is given a rehashed value
+      recordValueSample( value, rehash( hash( value ) ) );
+    }
+    for ( int i = 0; i < BUFFER_CAPACITY; i++ )
+    {
+      final Object value = _occurrenceSamples.poll();
+      if ( null == value )
+      {
+        break;
+      }
+      recordOccurrenceSample( value, hash( value ) );
+    }
+  }
+
+  private void recordValueSample( @Nonnull final Object value, final long hash )
+  {
+    _sampledCount++;
+    _distinctValues.add( hash );
+    for ( final LruCacheSimulator cache : _caches )
+    {
+      cache.access( value );
+    }
+  }
+
+  private void recordOccurrenceSample( @Nonnull final Object value, final long hash )
+  {
+    final int count = _valueCounts.add( hash );
+    if ( _topValues.containsKey( value ) || _topValues.size() < _topValueCount )
+    {
+      _topValues.put( value, hash );
+    }
+    else
+    {
+      Object minValue = null;
+      int minCount = Integer.MAX_VALUE;
+      for ( final Map.Entry<Object, Long> entry : _topValues.entrySet() )
+      {
+        final int candidateCount = _valueCounts.estimate( entry.getValue() );
+        if ( candidateCount < minCount )
+        {
+          minValue = entry.getKey();
+          minCount = candidateCount;
+        }
+      }
+      if ( count > minCount )
+      {
+        _topValues.remove( minValue );
+        _topValues.put( value, hash );
+      }
+    }
+  }
+
+  @Nonnull
+  ValueProfileSnapshot snapshot()
+  {
+    _lock.lock();
+    try
+    {
+      drainSamples();
+      return createSnapshot();
+    }
+    finally
+    {
+      _lock.unlock();
+    }
+  }
+
+  @Nonnull
+  private ValueProfileSnapshot createSnapshot()
+  {
+    final List<ValueProfileSnapshot.ValueCount> topValues = new ArrayList<>( _topValues.size() );
+    for ( final Map.Entry<Object, Long> entry : _topValues.entrySet() )
+    {
+      // Occurrences are sampled at random so the count of a value is scaled up by the sample rate
+      final long count = (long) _valueCounts.estimate( entry.getValue() ) * _sampleRate;
+      topValues.add( new ValueProfileSnapshot.ValueCount( entry.getKey(), count ) );
+    }
+    topValues.sort( ( a, b ) -> Long.compare( b.getCount(), a.getCount() ) );
+
+    final long observedCount = _observedCount.sum();
+    final long droppedValueCount = _droppedValueCount.sum();
+    final double expectedSampledCount = (double) observedCount / _sampleRate - droppedValueCount;
+    final Map<Integer, Double> hitRates = new LinkedHashMap<>();
+    for ( final LruCacheSimulator cache : _caches )
+    {
+      hitRates.put( cache.getSize(), cache.getHitRate( expectedSampledCount ) );
+    }
+
+    return new ValueProfileSnapshot( _scalarName,
+                                     _operation,
+                                     observedCount,
+                                     _sampledCount,
+                                     droppedValueCount + _droppedOccurrenceCount.sum(),
+                                     _distinctValues.estimate() * _sampleRate,
+                                     Collections.unmodifiableList( topValues ),
+                                     Collections.unmodifiableMap( hitRates ) );
+  }
+
+  /**
+   * Spread the bits of the hashCode over 64 bits using the SplitMix64 finalizer.
+   */
+  static long hash( @Nonnull final Object value )
+  {
+    long hash = value.hashCode() * 0x9E3779B97F4A7C15L;
+    hash = ( hash ^ ( hash >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+    hash = ( hash ^ ( hash >>> 27 ) ) * 0x94D049BB133111EBL;
+    return hash ^ ( hash >>> 31 );
+  }
+
+  /**
+   * Derive a second, independent hash using the MurmurHash3 finalizer.
+   * The hash used to select samples must not be used by the sketches as the selected hashes share their low bits.
+   */
+  static long rehash( final long hash )
+  {
+    long result = ( hash ^ ( hash >>> 33 ) ) * 0xFF51AFD7ED558CCDL;
+    result = ( result ^ ( result >>> 33 ) ) * 0xC4CEB9FE1A85EC53L;
+    return result ^ ( result >>> 33 );
+  }
+
+  /**
+   * Simulates an LRU cache of the specified size over the sampled values.
+   * The simulated capacity is scaled down by the sample rate as only that fraction of the
+   * distinct values is presented to the simulation.
+   */
+  private static final class LruCacheSimulator
+  {
+    private final int _size;
+    @Nonnull
+    private final LinkedHashMap<Object, Boolean> _entries;
+    private long _accessCount;
+    private long _hitCount;
+
+    LruCacheSimulator( final int size, final int sampleRate )
+    {
+      _size = size;
+      final int capacity = Math.max( 1, size / sampleRate );
+      _entries = new LinkedHashMap<Object, Boolean>( 16, 0.75F, true )
+      {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<Object, Boolean> eldest )
+        {
+          return size() > capacity;
+        }
+      };
+    }
+
+    void access( @Nonnull final Object value )
+    {
+      _accessCount++;
+      if ( null != _entries.get( value ) )
+      {
+        _hitCount++;
+      }
+      else
+      {
+        _entries.put( value, Boolean.TRUE );
+      }
+    }
+
+    int getSize()
+    {
+      return _size;
+    }
+
+    /**
+     * Return the hit rate given the number of accesses expected at the sample rate.
+     * A few frequent values can make the number of sampled accesses differ greatly from the expected number,
+     * depending on whether those values are sampled. The difference is treated as hits as it arises from
+     * values that are accessed repeatedly. This is the adjustment described in Waldspurger et al.,
+     * "Efficient MRC Construction with SHARDS".
+     */
+    double getHitRate( final double expectedAccessCount )
+    {
+      if ( expectedAccessCount <= 0 )
+      {
+        return 0;
+      }
+      final double hitCount = _hitCount + expectedAccessCount - _accessCount;
+      return Math.min( 1, Math.max( 0, hitCount / expectedAccessCount ) );
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * A point-in-time view of the values presented to a single operation of a single scalar.
+ * The distinct count and the hit rates are estimated from the values sampled by hash, so every occurrence
+ * of a sampled value is recorded and only the distinct count is scaled up by the sample rate. The counts of
+ * the top values are estimated from occurrences sampled at random and are scaled up by the sample rate.
+ * They are exact, other than collisions in the sketch, when the sample rate is 1.
+ *
+ * @see CoercionProfiler#snapshot()
+ */
+public final class ValueProfileSnapshot
+{
+  @Nonnull
+  private final String _scalarName;
+  @Nonnull
+  private final CoercionOperation _operation;
+  private final long _observedCount;
+  private final long _sampledCount;
+  private final long _droppedCount;
+  private final long _distinctCount;
+  @Nonnull
+  private final List<ValueCount> _topValues;
+  @Nonnull
+  private final Map<Integer, Double> _hitRates;
+
+  ValueProfileSnapshot( @Nonnull final String scalarName,
+                        @Nonnull final CoercionOperation operation,
+                        final long observedCount,
+                        final long sampledCount,
+                        final long droppedCount,
+                        final long distinctCount,
+                        @Nonnull final List<ValueCount> topValues,
+                        @Nonnull final Map<Integer, Double> hitRates )
+  {
+    _scalarName = scalarName;
+    _operation = operation;
+    _observedCount = observedCount;
+    _sampledCount = sampledCount;
+    _droppedCount = droppedCount;
+    _distinctCount = distinctCount;
+    _topValues = topValues;
+    _hitRates = hitRates;
+  }
+
+  @Nonnull
+  public String getScalarName()
+  {
+    return _scalarName;
+  }
+
+  @Nonnull
+  public CoercionOperation getOperation()
+  {
+    return _operation;
+  }
+
+  /**
+   * Return the number of values presented to the operation.
+   */
+  public long getObservedCount()
+  {
+    return _observedCount;
+  }
+
+  /**
+   * Return the number of values sampled by hash and recorded in the distinct count and the cache simulations.
+   */
+  public long getSampledCount()
+  {
+    return _sampledCount;
+  }
+
+  /**
+   * Return the number of values and occurrences that were selected for sampling but dropped because the
+   * profiler could not keep up. These samples are not reflected in the estimates. A non-zero count suggests that the
+   * sample rate should be increased.
+   */
+  public long getDroppedCount()
+  {
+    return _droppedCount;
+  }
+
+  /**
+   * Return the estimated number of distinct values presented to the operation.
+   */
+  public long getDistinctCount()
+  {
+    return _distinctCount;
+  }
+
+  /**
+   * Return the most frequent values, in descending order of estimated count.
+   */
+  @Nonnull
+  public List<ValueCount> getTopValues()
+  {
+    return _topValues;
+  }
+
+  /**
+   * Return the estimated hit rate, between 0 and 1, of an LRU cache keyed by value for each simulated cache size.
+   */
+  @Nonnull
+  public Map<Integer, Double> getHitRates()
+  {
+    return _hitRates;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "ValueProfileSnapshot[" + _scalarName + "." + _operation +
+           ": observed=" + _observedCount +
+           ", dropped=" + _droppedCount +
+           ", distinct=" + _distinctCount +
+           ", hitRates=" + _hitRates +
+           ", topValues=" + _topValues + "]";
+  }
+
+  /**
+   * A value and the estimated number of times it was presented to the operation.
+   */
+  public static final class ValueCount
+  {
+    @Nonnull
+    private final Object _value;
+    private final long _count;
+
+    ValueCount( @Nonnull final Object value, final long count )
+    {
+      _value = value;
+      _count = count;
+    }
+
+    @Nonnull
+    public Object getValue()
+    {
+      return _value;
+    }
+
+    public long getCount()
+    {
+      return _count;
+    }
+
+    @Override
+    public String toString()
+    {
+      return _value + "=" + _count;
+    }
+  }
+}
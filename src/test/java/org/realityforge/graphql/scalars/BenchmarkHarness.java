@@ -0,0 +1,272 @@
+package org.realityforge.graphql.scalars;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Measures the throughput of operations and the memory they allocate for the benchmarks.
+ * Each operation is passed an index between 0 and {@link #INDEX_COUNT} so that it can select one of
+ * several precomputed inputs. The results of the operations are consumed so that they are not
+ * optimized away. Allocation is measured with the per-thread allocation counter of the JVM, which
+ * counts the bytes allocated by the operations that the JIT did not eliminate.
+ *
+ * <p>Every operation is invoked from the same call site. The call site is presented with several
+ * operations before any measurement so that the JIT does not inline the first operation measured and
+ * not the others. Each result therefore includes the cost of an interface call.</p>
+ */
+final class BenchmarkHarness
+{
+  /**
+   * The number of distinct indexes passed to an operation. Must be a power of two.
+   */
+  static final int INDEX_COUNT = 1024;
+  private static final int BATCH_SIZE = 256;
+  /**
+   * The spacing of the per-thread counters, chosen so that no two counters share a cache line.
+   */
+  private static final int COUNTER_STRIDE = 16;
+  /**
+   * Prevents the results of the operations from being optimized away.
+   */
+  @SuppressWarnings( "unused" )
+  private static volatile int c_sink;
+  /**
+   * The bean used to measure the memory allocated by a thread, or null if the JVM does not support it.
+   */
+  @Nullable
+  private static final ThreadMXBean THREAD_MX_BEAN = findThreadMXBean();
+
+  static
+  {
+    final Operation[] operations = new Operation[]{ i -> "", i -> Boolean.TRUE, i -> Thread.currentThread() };
+    int sink = 0;
+    for ( int i = 0; i < 10000; i++ )
+    {
+      sink += runBatch( operations[ i % operations.length ], i );
+    }
+    c_sink = sink;
+  }
+
+  private BenchmarkHarness()
+  {
+  }
+
+  @FunctionalInterface
+  interface Operation
+  {
+    @Nonnull
+    Object apply( int index );
+  }
+
+  /**
+   * State established on each thread before it runs an operation, such as a thread-local.
+   */
+  @FunctionalInterface
+  interface ThreadScope
+  {
+    /**
+     * Establish the state on the current thread and return the action that removes it.
+     */
+    @Nonnull
+    Runnable enter();
+  }
+
+  /**
+   * Run the operation on the threads and return the number of operations completed per second
+   * after the warmup period.
+   */
+  static double measureThroughput( @Nonnull final Operation operation,
+                                   final int threadCount,
+                                   final long warmupMillis,
+                                   final long measureMillis )
+    throws InterruptedException
+  {
+    return measureThroughput( operation, null, threadCount, warmupMillis, measureMillis );
+  }
+
+  /**
+   * Run the operation on the threads, each within the scope if any, and return the number of operations
+   * completed per second after the warmup period.
+   */
+  static double measureThroughput( @Nonnull final Operation operation,
+                                   @Nullable final ThreadScope scope,
+                                   final int threadCount,
+                                   final long warmupMillis,
+                                   final long measureMillis )
+    throws InterruptedException
+  {
+    final AtomicLongArray counters = new AtomicLongArray( threadCount * COUNTER_STRIDE );
+    final CountDownLatch start = new CountDownLatch( 1 );
+    final Thread[] threads = new Thread[ threadCount ];
+    for ( int i = 0; i < threadCount; i++ )
+    {
+      final int counterIndex = i * COUNTER_STRIDE;
+      final int offset = i * 31;
+      threads[ i ] = new Thread( () -> runWorker( operation, scope, start, counters, counterIndex, offset ) );
+      threads[ i ].setDaemon( true );
+      threads[ i ].start();
+    }
+
+    start.countDown();
+    TimeUnit.MILLISECONDS.sleep( warmupMillis );
+    final long startCount = sum( counters );
+    final long startTime = System.nanoTime();
+    TimeUnit.MILLISECONDS.sleep( measureMillis );
+    final long count = sum( counters ) - startCount;
+    final long elapsed = System.nanoTime() - startTime;
+
+    for ( final Thread thread : threads )
+    {
+      thread.interrupt();
+    }
+    for ( final Thread thread : threads )
+    {
+      thread.join();
+    }
+    return (double) count * TimeUnit.SECONDS.toNanos( 1 ) / elapsed;
+  }
+
+  /**
+   * Return true if the JVM can measure the memory allocated by a thread.
+   */
+  static boolean isAllocationMeasured()
+  {
+    return null != THREAD_MX_BEAN;
+  }
+
+  /**
+   * Run the operation on the current thread and return the number of bytes allocated per operation
+   * after the warmup period, or NaN if the JVM can not measure the memory allocated by a thread.
+   */
+  static double measureAllocation( @Nonnull final Operation operation,
+                                   final long warmupMillis,
+                                   final long measureMillis )
+  {
+    return measureAllocation( operation, null, warmupMillis, measureMillis );
+  }
+
+  /**
+   * Run the operation on the current thread within the scope, if any, and return the number of bytes
+   * allocated per operation after the warmup period, or NaN if the JVM can not measure the memory
+   * allocated by a thread.
+   */
+  static double measureAllocation( @Nonnull final Operation operation,
+                                   @Nullable final ThreadScope scope,
+                                   final long warmupMillis,
+                                   final long measureMillis )
+  {
+    if ( null == THREAD_MX_BEAN )
+    {
+      return Double.NaN;
+    }
+    final long threadId = Thread.currentThread().getId();
+    final Runnable exit = null != scope ? scope.enter() : null;
+    try
+    {
+      int sink = 0;
+      int index = 0;
+      final long warmupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( warmupMillis );
+      while ( System.nanoTime() < warmupEnd )
+      {
+        sink += runBatch( operation, index );
+        index += BATCH_SIZE;
+      }
+
+      long count = 0;
+      final long startBytes = THREAD_MX_BEAN.getThreadAllocatedBytes( threadId );
+      final long measureEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( measureMillis );
+      while ( System.nanoTime() < measureEnd )
+      {
+        sink += runBatch( operation, index );
+        index += BATCH_SIZE;
+        count += BATCH_SIZE;
+      }
+      final long bytes = THREAD_MX_BEAN.getThreadAllocatedBytes( threadId ) - startBytes;
+      c_sink = sink;
+      return 0 == count ? Double.NaN : (double) bytes / count;
+    }
+    finally
+    {
+      if ( null != exit )
+      {
+        exit.run();
+      }
+    }
+  }
+
+  private static void runWorker( @Nonnull final Operation operation,
+                                 @Nullable final ThreadScope scope,
+                                 @Nonnull final CountDownLatch start,
+                                 @Nonnull final AtomicLongArray counters,
+                                 final int counterIndex,
+                                 final int offset )
+  {
+    final Runnable exit = null != scope ? scope.enter() : null;
+    try
+    {
+      start.await();
+      int sink = 0;
+      int index = offset;
+      long count = 0;
+      while ( !Thread.currentThread().isInterrupted() )
+      {
+        sink += runBatch( operation, index );
+        index += BATCH_SIZE;
+        count += BATCH_SIZE;
+        counters.lazySet( counterIndex, count );
+      }
+      c_sink = sink;
+    }
+    catch ( final InterruptedException ignored )
+    {
+      // Interrupted before the measurement started
+    }
+    finally
+    {
+      if ( null != exit )
+      {
+        exit.run();
+      }
+    }
+  }
+
+  private static int runBatch( @Nonnull final Operation operation, final int offset )
+  {
+    int sink = 0;
+    for ( int i = 0; i < BATCH_SIZE; i++ )
+    {
+      sink += operation.apply( ( offset + i ) & ( INDEX_COUNT - 1 ) ).hashCode();
+    }
+    return sink;
+  }
+
+  private static long sum( @Nonnull final AtomicLongArray counters )
+  {
+    long sum = 0;
+    for ( int i = 0; i < counters.length(); i += COUNTER_STRIDE )
+    {
+      sum += counters.get( i );
+    }
+    return sum;
+  }
+
+  @Nullable
+  private static ThreadMXBean findThreadMXBean()
+  {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if ( bean instanceof ThreadMXBean )
+    {
+      final ThreadMXBean threadMXBean = (ThreadMXBean) bean;
+      if ( threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled() )
+      {
+        return threadMXBean;
+      }
+    }
+    return null;
+  }
+}
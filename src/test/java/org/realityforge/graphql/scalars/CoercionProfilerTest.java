@@ -0,0 +1,172 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.GraphQLScalarType;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class CoercionProfilerTest
+{
+  @Test
+  public void defaults()
+  {
+    final CoercionProfiler profiler = new CoercionProfiler();
+    final Coercing<?, ?> coercing = profiler.profile( Scalars.LOCAL_DATE ).getCoercing();
+    final LocalDate start = LocalDate.of( 1800, 1, 1 );
+    for ( int i = 0; i < 64000; i++ )
+    {
+      coercing.serialize( start.plusDays( i % 16000 ) );
+    }
+
+    final ValueProfileSnapshot snapshot = profiler.snapshot().get( 0 );
+    assertEquals( snapshot.getObservedCount(), 64000L );
+    // One in 64 distinct values is sampled
+    assertTrue( snapshot.getSampledCount() > 800 && snapshot.getSampledCount() < 1200,
+                String.valueOf( snapshot.getSampledCount() ) );
+    assertEquals( snapshot.getDroppedCount(), 0L );
+    assertEquals( snapshot.getHitRates().keySet().toString(), "[1024, 4096, 16384, 65536]" );
+  }
+
+  @Test
+  public void profile()
+  {
+    final CoercionProfiler profiler = new CoercionProfiler( 1, 16, 16 );
+    final GraphQLScalarType scalar = profiler.profile( Scalars.LOCAL_DATE );
+    assertEquals( scalar.getName(), Scalars.LOCAL_DATE.getName() );
+    assertEquals( scalar.getDescription(), Scalars.LOCAL_DATE.getDescription() );
+
+    final Coercing<?, ?> coercing = scalar.getCoercing();
+    assertEquals( coercing.serialize( LocalDate.of( 2011, 12, 3 ) ), "2011-12-03" );
+    assertEquals( coercing.parseValue( "2011-12-03" ), LocalDate.of( 2011, 12, 3 ) );
+    assertEquals( coercing.parseLiteral( new StringValue( "2011-12-03" ) ), LocalDate.of( 2011, 12, 3 ) );
+    assertEquals( coercing.parseLiteral( new StringValue( "2011-12-03" ) ), LocalDate.of( 2011, 12, 3 ) );
+    coercing.parseLiteral( new IntValue( BigInteger.ZERO ) );
+
+    final List<ValueProfileSnapshot> snapshots = profiler.snapshot();
+    assertEquals( snapshots.size(), 3 );
+
+    final ValueProfileSnapshot serialize = snapshots.get( 0 );
+    assertEquals( serialize.getScalarName(), "LocalDate" );
+    assertEquals( serialize.getOperation(), CoercionOperation.SERIALIZE );
+    assertEquals( serialize.getObservedCount(), 1L );
+    assertEquals( serialize.getSampledCount(), 1L );
+    assertEquals( serialize.getDistinctCount(), 1L );
+    assertEquals( serialize.getTopValues().size(), 1 );
+    assertEquals( serialize.getTopValues().get( 0 ).getValue(), LocalDate.of( 2011, 12, 3 ) );
+    assertEquals( serialize.getTopValues().get( 0 ).getCount(), 1L );
+
+    final ValueProfileSnapshot parseValue = snapshots.get( 1 );
+    assertEquals( parseValue.getOperation(), CoercionOperation.PARSE_VALUE );
+    assertEquals( parseValue.getObservedCount(), 1L );
+    assertEquals( parseValue.getTopValues().get( 0 ).getValue(), "2011-12-03" );
+
+    final ValueProfileSnapshot parseLiteral = snapshots.get( 2 );
+    assertEquals( parseLiteral.getOperation(), CoercionOperation.PARSE_LITERAL );
+    assertEquals( parseLiteral.getObservedCount(), 3L );
+    assertEquals( parseLiteral.getDistinctCount(), 2L );
+    assertEquals( parseLiteral.getTopValues().get( 0 ).getValue(), "2011-12-03" );
+    assertEquals( parseLiteral.getTopValues().get( 0 ).getCount(), 2L );
+    assertEquals( parseLiteral.getTopValues().get( 1 ).getValue(), BigInteger.ZERO );
+  }
+
+  @Test
+  public void profile_WorkingSet()
+  {
+    final CoercionProfiler profiler = new CoercionProfiler( 1, 4, 10, 100 );
+    final Coercing<?, ?> coercing = profiler.profile( Scalars.LOCAL_DATE ).getCoercing();
+    final LocalDate start = LocalDate.of( 2011, 1, 1 );
+
+    // A hot set of 5 dates accessed in every round and a cold set of 50 dates, accessed in rotation
+    for ( int round = 0; round < 100; round++ )
+    {
+      for ( int i = 0; i < 5; i++ )
+      {
+        coercing.serialize( start.plusDays( i ) );
+        coercing.serialize( start.plusDays( i ) );
+      }
+      coercing.serialize( start.plusDays( 5 + round % 50 ) );
+    }
+
+    final ValueProfileSnapshot snapshot = profiler.snapshot().get( 0 );
+    assertEquals( snapshot.getObservedCount(), 1100L );
+    assertEquals( snapshot.getDistinctCount(), 55L );
+
+    final List<ValueProfileSnapshot.ValueCount> topValues = snapshot.getTopValues();
+    assertEquals( topValues.size(), 4 );
+    for ( final ValueProfileSnapshot.ValueCount topValue : topValues )
+    {
+      assertTrue( ( (LocalDate) topValue.getValue() ).isBefore( start.plusDays( 5 ) ), topValue.toString() );
+      assertTrue( topValue.getCount() >= 200L );
+    }
+
+    final Map<Integer, Double> hitRates = snapshot.getHitRates();
+    assertEquals( hitRates.keySet().toString(), "[10, 100]" );
+    // The hot set fits in the small cache but the rotating cold set does not
+    assertTrue( hitRates.get( 10 ) > 0.8 && hitRates.get( 10 ) < 0.95, hitRates.toString() );
+    // Everything fits in the large cache so only the first access of each value misses
+    assertEquals( hitRates.get( 100 ), ( 1100.0 - 55.0 ) / 1100.0, 0.0001 );
+  }
+
+  @Test
+  public void profile_Sampled()
+  {
+    final CoercionProfiler profiler = new CoercionProfiler( 4, 4, 1024 );
+    final Coercing<?, ?> coercing = profiler.profile( Scalars.LOCAL_DATE ).getCoercing();
+    final LocalDate start = LocalDate.of( 1800, 1, 1 );
+    for ( int i = 0; i < 20000; i++ )
+    {
+      coercing.serialize( start.plusDays( i ) );
+    }
+
+    final ValueProfileSnapshot snapshot = profiler.snapshot().get( 0 );
+    assertEquals( snapshot.getObservedCount(), 20000L );
+    assertTrue( snapshot.getSampledCount() > 4000 && snapshot.getSampledCount() < 6000,
+                String.valueOf( snapshot.getSampledCount() ) );
+    final double error = Math.abs( snapshot.getDistinctCount() - 20000 ) / 20000.0;
+    assertTrue( error < 0.1, String.valueOf( snapshot.getDistinctCount() ) );
+  }
+
+  @Test
+  public void profile_SkewedTraffic()
+  {
+    final CoercionProfiler profiler = new CoercionProfiler();
+    final Coercing<?, ?> coercing = profiler.profile( Scalars.LOCAL_DATE ).getCoercing();
+    final LocalDate hot = LocalDate.of( 2000, 2, 14 );
+    final LocalDate start = LocalDate.of( 1800, 1, 1 );
+
+    // Half of the values are the same date and the remainder are presented once each
+    for ( int i = 0; i < 32000; i++ )
+    {
+      coercing.serialize( hot );
+      coercing.serialize( start.plusDays( i ) );
+    }
+
+    final ValueProfileSnapshot snapshot = profiler.snapshot().get( 0 );
+    assertEquals( snapshot.getObservedCount(), 64000L );
+    // The frequent value is found whether or not it is selected by its hash
+    final ValueProfileSnapshot.ValueCount topValue = snapshot.getTopValues().get( 0 );
+    assertEquals( topValue.getValue(), hot );
+    assertTrue( Math.abs( topValue.getCount() - 32000 ) < 32000 * 0.2, topValue.toString() );
+    assertEquals( snapshot.getDistinctCount(), 32000.0, 32000.0 * 0.2 );
+    // Every access of the frequent value after the first hits and every other access misses
+    for ( final double hitRate : snapshot.getHitRates().values() )
+    {
+      assertTrue( Math.abs( hitRate - 0.5 ) < 0.1, snapshot.toString() );
+    }
+  }
+
+  @Test
+  public void construct_Invalid()
+  {
+    expectThrows( IllegalArgumentException.class, () -> new CoercionProfiler( 3, 4, 16 ) );
+    expectThrows( IllegalArgumentException.class, () -> new CoercionProfiler( 0, 4, 16 ) );
+    expectThrows( IllegalArgumentException.class, () -> new CoercionProfiler( 1, -1, 16 ) );
+    expectThrows( IllegalArgumentException.class, () -> new CoercionProfiler( 1, 4, 0 ) );
+  }
+}
@@ -0,0 +1,263 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Measures how the throughput of the shared coercings scales with the number of threads.
+ * Each operation is run on 1, 2, 4 and so on up to the maximum number of threads. The throughput
+ * and the scaling efficiency, the throughput relative to a linear multiple of the single thread
+ * throughput, are reported for each thread count. Efficiencies below 0.75 are flagged as sub-linear.
+ * Scaling beyond the number of physical cores is expected to be sub-linear. A profiler that records
+ * every value drops samples rather than blocking once it can not keep up, so that workload may appear
+ * to scale better than linearly. The bytes allocated per operation on a single thread are also reported
+ * for each workload.
+ *
+ * <p>This is not part of the test suite as the results depend upon the machine. Run it from the
+ * test classpath, optionally specifying the maximum number of threads and the measurement time
+ * in milliseconds. i.e.</p>
+ * <pre>{@code
+ * java -cp ... org.realityforge.graphql.scalars.CoercionScalingBenchmark 8 2000
+ * }</pre>
+ */
+public final class CoercionScalingBenchmark
+{
+  private static final double SUB_LINEAR_THRESHOLD = 0.75;
+
+  private CoercionScalingBenchmark()
+  {
+  }
+
+  public static void main( @Nonnull final String[] args )
+    throws Exception
+  {
+    final int maxThreads = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : Runtime.getRuntime().availableProcessors();
+    final long measureMillis = args.length > 1 ? Long.parseLong( args[ 1 ] ) : 1000L;
+    for ( final Result result : run( maxThreads, measureMillis / 2, measureMillis ) )
+    {
+      System.out.println( result );
+    }
+  }
+
+  /**
+   * Run every workload at each thread count and return the results.
+   */
+  @Nonnull
+  static List<Result> run( final int maxThreads, final long warmupMillis, final long measureMillis )
+    throws InterruptedException
+  {
+    final List<Result> results = new ArrayList<>();
+    for ( final Workload workload : workloads() )
+    {
+      final BenchmarkHarness.Operation operation = workload.getOperation();
+      final BenchmarkHarness.ThreadScope scope = workload.getScope();
+      final double bytesPerOperation =
+        BenchmarkHarness.measureAllocation( operation, scope, warmupMillis, measureMillis );
+      double singleThreadThroughput = 0;
+      for ( final int threadCount : threadCounts( maxThreads ) )
+      {
+        final double throughput =
+          BenchmarkHarness.measureThroughput( operation, scope, threadCount, warmupMillis, measureMillis );
+        if ( 1 == threadCount )
+        {
+          singleThreadThroughput = throughput;
+        }
+        final double efficiency = throughput / ( singleThreadThroughput * threadCount );
+        results.add( new Result( workload.getName(), threadCount, throughput, efficiency, bytesPerOperation ) );
+      }
+    }
+    return results;
+  }
+
+  @Nonnull
+  private static List<Workload> workloads()
+  {
+    final LocalDate[] dates = new LocalDate[ BenchmarkHarness.INDEX_COUNT ];
+    final String[] dateTexts = new String[ BenchmarkHarness.INDEX_COUNT ];
+    final StringValue[] dateLiterals = new StringValue[ BenchmarkHarness.INDEX_COUNT ];
+    final LocalDateTime[] dateTimes = new LocalDateTime[ BenchmarkHarness.INDEX_COUNT ];
+    final String[] dateTimeTexts = new String[ BenchmarkHarness.INDEX_COUNT ];
+    final StringValue[] dateTimeLiterals = new StringValue[ BenchmarkHarness.INDEX_COUNT ];
+    for ( int i = 0; i < BenchmarkHarness.INDEX_COUNT; i++ )
+    {
+      dates[ i ] = LocalDate.of( 2011, 12, 3 ).plusDays( i );
+      dateTexts[ i ] = dates[ i ].toString();
+      dateLiterals[ i ] = new StringValue( dateTexts[ i ] );
+      dateTimes[ i ] = dates[ i ].atTime( i % 24, i % 60, i % 60 );
+      dateTimeTexts[ i ] = dateTimes[ i ].toString();
+      dateTimeLiterals[ i ] = new StringValue( dateTimeTexts[ i ] );
+    }
+
+    final Coercing<?, ?> localDate = Scalars.LOCAL_DATE.getCoercing();
+    final Coercing<?, ?> localDateTime = Scalars.LOCAL_DATE_TIME.getCoercing();
+    final Coercing<?, ?> sampled = new CoercionProfiler().profile( Scalars.LOCAL_DATE ).getCoercing();
+    final Coercing<?, ?> unsampled =
+      new CoercionProfiler( 1, 16, 1024 ).profile( Scalars.LOCAL_DATE ).getCoercing();
+
+    final List<Workload> workloads = new ArrayList<>();
+    workloads.add( new Workload( "LocalDate.serialize", i -> localDate.serialize( dates[ i ] ), null ) );
+    workloads.add( new Workload( "LocalDate.parseValue", i -> localDate.parseValue( dateTexts[ i ] ), null ) );
+    workloads.add( new Workload( "LocalDate.parseLiteral", i -> localDate.parseLiteral( dateLiterals[ i ] ), null ) );
+    workloads.add( new Workload( "LocalDateTime.serialize", i -> localDateTime.serialize( dateTimes[ i ] ), null ) );
+    workloads.add( new Workload( "LocalDateTime.parseValue",
+                                 i -> localDateTime.parseValue( dateTimeTexts[ i ] ),
+                                 null ) );
+    workloads.add( new Workload( "LocalDateTime.parseLiteral",
+                                 i -> localDateTime.parseLiteral( dateTimeLiterals[ i ] ),
+                                 null ) );
+    workloads.add( new Workload( "LocalDate.serialize (profiled 1/64)", i -> sampled.serialize( dates[ i ] ), null ) );
+    workloads.add( new Workload( "LocalDate.serialize (profiled 1/1)", i -> unsampled.serialize( dates[ i ] ), null ) );
+    // Models the fields of a single execution being completed on many threads at once
+    workloads.add( new Workload( "LocalDate.serialize (deduplicated)",
+                                 i -> localDate.serialize( dates[ i ] ),
+                                 newExecutionScope() ) );
+    workloads.add( new Workload( "LocalDateTime.serialize (deduplicated)",
+                                 i -> localDateTime.serialize( dateTimes[ i ] ),
+                                 newExecutionScope() ) );
+    return workloads;
+  }
+
+  /**
+   * Create a scope that makes the table of a single execution current on each thread.
+   */
+  @Nonnull
+  private static BenchmarkHarness.ThreadScope newExecutionScope()
+  {
+    final SerializedValueTable table = new SerializedValueTable();
+    return () -> {
+      final InstrumentationContext<ExecutionResult> context = table.activate();
+      return () -> context.onDispatched( null );
+    };
+  }
+
+  @Nonnull
+  private static List<Integer> threadCounts( final int maxThreads )
+  {
+    final List<Integer> threadCounts = new ArrayList<>();
+    for ( int threadCount = 1; threadCount < maxThreads; threadCount *= 2 )
+    {
+      threadCounts.add( threadCount );
+    }
+    threadCounts.add( maxThreads );
+    return threadCounts;
+  }
+
+  private static final class Workload
+  {
+    @Nonnull
+    private final String _name;
+    @Nonnull
+    private final BenchmarkHarness.Operation _operation;
+    /**
+     * The scope established on each thread while the operation runs, if any.
+     */
+    @Nullable
+    private final BenchmarkHarness.ThreadScope _scope;
+
+    Workload( @Nonnull final String name,
+              @Nonnull final BenchmarkHarness.Operation operation,
+              @Nullable final BenchmarkHarness.ThreadScope scope )
+    {
+      _name = name;
+      _operation = operation;
+      _scope = scope;
+    }
+
+    @Nonnull
+    String getName()
+    {
+      return _name;
+    }
+
+    @Nonnull
+    BenchmarkHarness.Operation getOperation()
+    {
+      return _operation;
+    }
+
+    @Nullable
+    BenchmarkHarness.ThreadScope getScope()
+    {
+      return _scope;
+    }
+  }
+
+  static final class Result
+  {
+    @Nonnull
+    private final String _name;
+    private final int _threadCount;
+    private final double _throughput;
+    private final double _efficiency;
+    private final double _bytesPerOperation;
+
+    Result( @Nonnull final String name,
+            final int threadCount,
+            final double throughput,
+            final double efficiency,
+            final double bytesPerOperation )
+    {
+      _name = name;
+      _threadCount = threadCount;
+      _throughput = throughput;
+      _efficiency = efficiency;
+      _bytesPerOperation = bytesPerOperation;
+    }
+
+    @Nonnull
+    String getName()
+    {
+      return _name;
+    }
+
+    int getThreadCount()
+    {
+      return _threadCount;
+    }
+
+    double getThroughput()
+    {
+      return _throughput;
+    }
+
+    double getEfficiency()
+    {
+      return _efficiency;
+    }
+
+    /**
+     * Return the bytes allocated per operation on a single thread, or NaN if allocation was not measured.
+     */
+    double getBytesPerOperation()
+    {
+      return _bytesPerOperation;
+    }
+
+    boolean isSubLinear()
+    {
+      return _efficiency < SUB_LINEAR_THRESHOLD;
+    }
+
+    @Override
+    public String toString()
+    {
+      return String.format( Locale.ENGLISH,
+                            "%-40s %3d threads %,15.0f ops/s %8.1f B/op  efficiency %.2f%s",
+                            _name,
+                            _threadCount,
+                            _throughput,
+                            _bytesPerOperation,
+                            _efficiency,
+                            isSubLinear() ? "  SUB-LINEAR" : "" );
+    }
+  }
+}
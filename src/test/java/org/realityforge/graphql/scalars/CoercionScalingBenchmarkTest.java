@@ -0,0 +1,31 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class CoercionScalingBenchmarkTest
+{
+  @Test
+  public void run()
+    throws Exception
+  {
+    // Only checks that the benchmark runs as timings vary too much between machines to assert upon
+    // The measurement is long enough that both threads are scheduled on a machine with a single processor
+    final List<CoercionScalingBenchmark.Result> results = CoercionScalingBenchmark.run( 2, 20, 50 );
+    assertEquals( results.size(), 20 );
+    for ( final CoercionScalingBenchmark.Result result : results )
+    {
+      assertTrue( result.getThroughput() > 0, result.toString() );
+      assertTrue( result.getEfficiency() > 0, result.toString() );
+      if ( BenchmarkHarness.isAllocationMeasured() )
+      {
+        assertTrue( result.getBytesPerOperation() >= 0, result.toString() );
+      }
+    }
+    assertEquals( results.get( 0 ).getName(), "LocalDate.serialize" );
+    assertEquals( results.get( 0 ).getThreadCount(), 1 );
+    assertEquals( results.get( 0 ).getEfficiency(), 1.0, 0.0001 );
+    assertEquals( results.get( 1 ).getThreadCount(), 2 );
+  }
+}
@@ -0,0 +1,170 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+/**
+ * Stress tests that exercise the shared coercings and their stateful features from many threads at once.
+ */
+public class ConcurrentCoercionTest
+{
+  private static final int THREAD_COUNT = 16;
+  private static final int ITERATIONS = 2000;
+  private static final int DISTINCT_VALUES = 97;
+  private static final LocalDate START = LocalDate.of( 2011, 12, 3 );
+
+  @Test
+  public void sharedScalars()
+    throws Exception
+  {
+    final Coercing<?, ?> localDate = Scalars.LOCAL_DATE.getCoercing();
+    final Coercing<?, ?> localDateTime = Scalars.LOCAL_DATE_TIME.getCoercing();
+    runConcurrently( thread -> {
+      for ( int i = 0; i < ITERATIONS; i++ )
+      {
+        final LocalDate date = START.plusDays( ( thread * 31 + i ) % DISTINCT_VALUES );
+        final LocalDateTime dateTime = date.atTime( i % 24, i % 60, i % 60, i * 1000 );
+        final String dateText = DateTimeFormatter.ISO_LOCAL_DATE.format( date );
+        final String dateTimeText = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format( dateTime );
+
+        assertEquals( localDate.serialize( date ), dateText );
+        assertEquals( localDate.serialize( dateText ), dateText );
+        assertEquals( localDate.parseValue( dateText ), date );
+        assertEquals( localDate.parseLiteral( new StringValue( dateText ) ), date );
+
+        assertEquals( localDateTime.serialize( dateTime ), dateTimeText );
+        assertEquals( localDateTime.serialize( dateTimeText ), dateTimeText );
+        assertEquals( localDateTime.parseValue( dateTimeText ), dateTime );
+        assertEquals( localDateTime.parseLiteral( new StringValue( dateTimeText ) ), dateTime );
+      }
+    } );
+  }
+
+  @Test
+  public void sharedSerializedValueTable()
+    throws Exception
+  {
+    // Models fields of a single execution being completed on many threads at once
+    final SerializedValueTable table = new SerializedValueTable();
+    final Coercing<?, ?> coercing = Scalars.LOCAL_DATE.getCoercing();
+    final String[][] results = new String[ THREAD_COUNT ][ DISTINCT_VALUES ];
+    runConcurrently( thread -> {
+      final InstrumentationContext<ExecutionResult> context = table.activate();
+      try
+      {
+        for ( int i = 0; i < ITERATIONS; i++ )
+        {
+          final int index = ( thread * 31 + i ) % DISTINCT_VALUES;
+          final String serialized = (String) coercing.serialize( START.plusDays( index ) );
+          assertEquals( serialized, START.plusDays( index ).toString() );
+          if ( null == results[ thread ][ index ] )
+          {
+            results[ thread ][ index ] = serialized;
+          }
+          else
+          {
+            assertSame( serialized, results[ thread ][ index ] );
+          }
+        }
+      }
+      finally
+      {
+        context.onDispatched( null );
+      }
+      assertNull( SerializedValueTableHolder.current() );
+    } );
+
+    assertEquals( table.size(), DISTINCT_VALUES );
+    for ( int index = 0; index < DISTINCT_VALUES; index++ )
+    {
+      for ( int thread = 1; thread < THREAD_COUNT; thread++ )
+      {
+        assertSame( results[ thread ][ index ], results[ 0 ][ index ] );
+      }
+    }
+  }
+
+  @Test
+  public void sharedProfiler()
+    throws Exception
+  {
+    final CoercionProfiler profiler = new CoercionProfiler( 1, 8, 16, 128 );
+    final Coercing<?, ?> coercing = profiler.profile( Scalars.LOCAL_DATE ).getCoercing();
+    runConcurrently( thread -> {
+      for ( int i = 0; i < ITERATIONS; i++ )
+      {
+        final LocalDate date = START.plusDays( ( thread * 31 + i ) % DISTINCT_VALUES );
+        assertEquals( coercing.serialize( date ), date.toString() );
+      }
+    } );
+
+    final ValueProfileSnapshot snapshot = profiler.snapshot().get( 0 );
+    final long operationCount = (long) THREAD_COUNT * ITERATIONS;
+    assertEquals( snapshot.getObservedCount(), operationCount );
+    // Every value is sampled at this rate but samples are dropped rather than blocking the recording threads
+    assertTrue( snapshot.getSampledCount() <= operationCount );
+    assertTrue( snapshot.getSampledCount() + snapshot.getDroppedCount() >= operationCount );
+    // The distinct count is an estimate
+    assertEquals( snapshot.getDistinctCount(), DISTINCT_VALUES, DISTINCT_VALUES * 0.05 );
+    assertEquals( snapshot.getTopValues().size(), 8 );
+    // Every value fits in the larger cache so only the first access of each value misses
+    final long sampledCount = snapshot.getSampledCount();
+    final double expectedHitRate = ( sampledCount - DISTINCT_VALUES ) / (double) sampledCount;
+    assertEquals( snapshot.getHitRates().get( 128 ), expectedHitRate, 0.0001 );
+  }
+
+  /**
+   * Run the task on many threads, releasing them at the same time to maximize contention,
+   * and rethrow the first failure.
+   */
+  private void runConcurrently( @Nonnull final ThreadTask task )
+    throws Exception
+  {
+    final ExecutorService executor = Executors.newFixedThreadPool( THREAD_COUNT );
+    try
+    {
+      final CountDownLatch start = new CountDownLatch( 1 );
+      final List<Future<?>> futures = new ArrayList<>();
+      for ( int i = 0; i < THREAD_COUNT; i++ )
+      {
+        final int thread = i;
+        final Callable<Object> callable = () -> {
+          start.await();
+          task.run( thread );
+          return null;
+        };
+        futures.add( executor.submit( callable ) );
+      }
+      start.countDown();
+      for ( final Future<?> future : futures )
+      {
+        future.get();
+      }
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface ThreadTask
+  {
+    void run( int thread );
+  }
+}
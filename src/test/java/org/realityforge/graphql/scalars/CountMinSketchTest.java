@@ -0,0 +1,55 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class CountMinSketchTest
+{
+  @Test
+  public void add()
+  {
+    final CountMinSketch sketch = new CountMinSketch( 4, 1024 );
+    assertEquals( sketch.estimate( 1L ), 0 );
+    assertEquals( sketch.add( 1L ), 1 );
+    assertEquals( sketch.add( 1L ), 2 );
+    assertEquals( sketch.estimate( 1L ), 2 );
+  }
+
+  @Test
+  public void estimate_NeverUndercounts()
+  {
+    final CountMinSketch sketch = new CountMinSketch( 4, 64 );
+    final long[] hashes = new long[ 1000 ];
+    for ( int i = 0; i < hashes.length; i++ )
+    {
+      hashes[ i ] = i * 0x9E3779B97F4A7C15L;
+      for ( int j = 0; j <= i % 10; j++ )
+      {
+        sketch.add( hashes[ i ] );
+      }
+    }
+    for ( int i = 0; i < hashes.length; i++ )
+    {
+      assertTrue( sketch.estimate( hashes[ i ] ) >= i % 10 + 1 );
+    }
+  }
+
+  @Test
+  public void indexOf_LowBitsZero()
+  {
+    // Hashes selected by a high sample rate share their low bits but must still map to different columns in each row
+    final CountMinSketch sketch = new CountMinSketch( 4, 1024 );
+    for ( int i = 1; i < 100; i++ )
+    {
+      final long hash = ( i * 0x9E3779B97F4A7C15L ) & ~0xFFFFL;
+      final Set<Integer> indexes = new HashSet<>();
+      for ( int row = 0; row < 4; row++ )
+      {
+        indexes.add( sketch.indexOf( hash, row ) );
+      }
+      assertEquals( indexes.size(), 4, Long.toHexString( hash ) );
+    }
+  }
+}
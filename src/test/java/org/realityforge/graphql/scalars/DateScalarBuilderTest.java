@@ -0,0 +1,334 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class DateScalarBuilderTest
+{
+  @Test
+  public void defaults()
+  {
+    final GraphQLScalarType scalar = Scalars.newLocalDateScalar().build();
+    assertEquals( scalar.getName(), "LocalDate" );
+    assertEquals( scalar.getDescription(), Scalars.LOCAL_DATE.getDescription() );
+    assertTrue( scalar.getCoercing() instanceof LocalDateCoercing );
+
+    final GraphQLScalarType dateTimeScalar = Scalars.newLocalDateTimeScalar().build();
+    assertEquals( dateTimeScalar.getName(), "LocalDateTime" );
+    assertEquals( dateTimeScalar.getDescription(), Scalars.LOCAL_DATE_TIME.getDescription() );
+    assertTrue( dateTimeScalar.getCoercing() instanceof LocalDateTimeCoercing );
+  }
+
+  @Test
+  public void nameAndDescription()
+  {
+    final GraphQLScalarType scalar =
+      Scalars.newLocalDateScalar().name( "BirthDate" ).description( "The date of birth" ).build();
+    assertEquals( scalar.getName(), "BirthDate" );
+    assertEquals( scalar.getDescription(), "The date of birth" );
+  }
+
+  @Test
+  public void range()
+  {
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateScalar()
+        .range( LocalDate.of( 2000, 1, 1 ), LocalDate.of( 2000, 12, 31 ) )
+        .build()
+        .getCoercing();
+    assertEquals( coercing.parseValue( "2000-01-01" ), LocalDate.of( 2000, 1, 1 ) );
+    assertEquals( coercing.parseValue( "2000-12-31" ), LocalDate.of( 2000, 12, 31 ) );
+
+    final CoercingParseValueException exception =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "2001-01-01" ) );
+    assertEquals( exception.getMessage(),
+                  "LocalDate value 2001-01-01 must be between January 1, 2000 and December 31, 2000. " +
+                  "Received: 2001-01-01" );
+
+    final CoercingParseLiteralException literalException =
+      expectThrows( CoercingParseLiteralException.class,
+                    () -> coercing.parseLiteral( new StringValue( "1999-12-31" ) ) );
+    assertEquals( literalException.getMessage(),
+                  "LocalDate literal StringValue{value='1999-12-31'} must be between January 1, 2000 and " +
+                  "December 31, 2000. Received: 1999-12-31" );
+  }
+
+  @Test
+  public void range_LocalDateTime()
+  {
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateTimeScalar()
+        .range( LocalDate.of( 2000, 1, 1 ), LocalDate.of( 2000, 12, 31 ) )
+        .build()
+        .getCoercing();
+    assertEquals( coercing.parseValue( "2000-12-31T23:59:59.999" ),
+                  LocalDateTime.of( 2000, 12, 31, 23, 59, 59, 999000000 ) );
+
+    final CoercingParseValueException exception =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "2001-01-01T00:00" ) );
+    assertEquals( exception.getMessage(),
+                  "LocalDateTime value 2001-01-01T00:00 must be between January 1, 2000 and December 31, 2000. " +
+                  "Received: 2001-01-01T00:00" );
+  }
+
+  @Test
+  public void range_EpochMilliBounds()
+  {
+    final LocalDate minDate = LocalDate.of( 2000, 1, 1 );
+    final LocalDate maxDate = LocalDate.of( 2000, 12, 31 );
+    // The epoch-milli bounds are widened by the largest possible offset so must not reject values in these zones
+    for ( final ZoneOffset zone : new ZoneOffset[]{ ZoneOffset.ofHours( 18 ), ZoneOffset.ofHours( -18 ) } )
+    {
+      final long min = minDate.atStartOfDay().toInstant( zone ).toEpochMilli();
+      final long max = maxDate.plusDays( 1 ).atStartOfDay().toInstant( zone ).toEpochMilli() - 1;
+
+      final Coercing<?, ?> coercing =
+        Scalars.newLocalDateScalar().range( minDate, maxDate ).zone( zone ).build().getCoercing();
+      assertEquals( coercing.parseValue( min ), minDate );
+      assertEquals( coercing.parseValue( max ), maxDate );
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( min - 1 ) );
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( max + 1 ) );
+
+      final Coercing<?, ?> dateTimeCoercing =
+        Scalars.newLocalDateTimeScalar().range( minDate, maxDate ).zone( zone ).build().getCoercing();
+      assertEquals( dateTimeCoercing.parseValue( min ), minDate.atStartOfDay() );
+      assertEquals( dateTimeCoercing.parseValue( max ), LocalDateTime.of( 2000, 12, 31, 23, 59, 59, 999000000 ) );
+      expectThrows( CoercingParseValueException.class, () -> dateTimeCoercing.parseValue( min - 1 ) );
+      expectThrows( CoercingParseLiteralException.class,
+                    () -> dateTimeCoercing.parseLiteral( new IntValue( BigInteger.valueOf( max + 1 ) ) ) );
+    }
+
+    // A value within the bounds that is out of range in the zone reports the date in the zone
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateTimeScalar().range( minDate, maxDate ).zone( ZoneOffset.ofHours( -18 ) ).build().getCoercing();
+    final long epochMilli = LocalDateTime.of( 1999, 12, 31, 23, 59 ).toInstant( ZoneOffset.ofHours( -18 ) ).toEpochMilli();
+    assertEquals( expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( epochMilli ) ).getMessage(),
+                  "LocalDateTime value " + epochMilli + " must be between January 1, 2000 and December 31, 2000. " +
+                  "Received: 1999-12-31T23:59" );
+  }
+
+  @Test
+  public void range_EpochMilliOutOfBounds()
+  {
+    // Values outside the range in every zone are rejected before the zone is resolved
+    // but the error still reports the date in the zone
+    final ZoneId zone = ZoneId.systemDefault();
+    final LocalDateCoercing coercing = new LocalDateCoercing();
+    assertEquals( expectThrows( CoercingParseValueException.class,
+                                () -> coercing.parseValue( Long.MAX_VALUE ) ).getMessage(),
+                  "LocalDate value " + Long.MAX_VALUE + " must be between January 1, 1753 and December 31, 9999. " +
+                  "Received: " + Instant.ofEpochMilli( Long.MAX_VALUE ).atZone( zone ).toLocalDate() );
+    assertEquals( expectThrows( CoercingParseLiteralException.class,
+                                () -> coercing.parseLiteral( new IntValue( BigInteger.valueOf( -6847891200000L ) ) ) )
+                    .getMessage(),
+                  "LocalDate literal IntValue{value=-6847891200000} must be between January 1, 1753 and " +
+                  "December 31, 9999. Received: " + Instant.ofEpochMilli( -6847891200000L ).atZone( zone ).toLocalDate() );
+
+    final LocalDateTimeCoercing dateTimeCoercing = new LocalDateTimeCoercing();
+    assertEquals( expectThrows( CoercingParseValueException.class,
+                                () -> dateTimeCoercing.parseValue( Long.MIN_VALUE ) ).getMessage(),
+                  "LocalDateTime value " + Long.MIN_VALUE + " must be between January 1, 1753 and December 31, 9999. " +
+                  "Received: " + Instant.ofEpochMilli( Long.MIN_VALUE ).atZone( zone ).toLocalDateTime() );
+
+    // Lenient integer strings are checked in the same way
+    final Coercing<?, ?> lenient =
+      Scalars.newLocalDateScalar().lenient( true ).zone( ZoneOffset.ofHours( 18 ) ).build().getCoercing();
+    assertEquals( expectThrows( CoercingParseLiteralException.class,
+                                () -> lenient.parseLiteral( new StringValue( "-7000000000" ) ) ).getMessage(),
+                  "LocalDate literal StringValue{value='-7000000000'} must be between January 1, 1753 and " +
+                  "December 31, 9999. Received: 1748-03-07" );
+  }
+
+  @Test
+  public void range_Unbounded()
+  {
+    // The epoch-milli bounds saturate rather than overflow
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateTimeScalar().range( LocalDate.MIN, LocalDate.MAX ).zone( ZoneOffset.UTC ).build().getCoercing();
+    assertEquals( coercing.parseValue( Long.MAX_VALUE ), LocalDateTime.of( 292278994, 8, 17, 7, 12, 55, 807000000 ) );
+    assertEquals( coercing.parseValue( Long.MIN_VALUE ), LocalDateTime.of( -292275055, 5, 16, 16, 47, 4, 192000000 ) );
+  }
+
+  @Test
+  public void range_Invalid()
+  {
+    final IllegalArgumentException exception =
+      expectThrows( IllegalArgumentException.class,
+                    () -> Scalars.newLocalDateScalar()
+                      .range( LocalDate.of( 2000, 1, 2 ), LocalDate.of( 2000, 1, 1 ) ) );
+    assertEquals( exception.getMessage(), "Minimum date 2000-01-02 is after maximum date 2000-01-01" );
+  }
+
+  @Test
+  public void zone()
+  {
+    final Coercing<?, ?> coercing = Scalars.newLocalDateTimeScalar().zone( ZoneOffset.ofHours( 10 ) ).build().getCoercing();
+    final long epochMilli = LocalDateTime.of( 2016, 12, 6, 16, 30 ).toInstant( ZoneOffset.ofHours( 10 ) ).toEpochMilli();
+    assertEquals( coercing.parseValue( epochMilli ), LocalDateTime.of( 2016, 12, 6, 16, 30 ) );
+    assertEquals( coercing.parseLiteral( new IntValue( BigInteger.valueOf( epochMilli ) ) ),
+                  LocalDateTime.of( 2016, 12, 6, 16, 30 ) );
+  }
+
+  @Test
+  public void inputKinds_StringOnly()
+  {
+    final Coercing<?, ?> coercing = Scalars.newLocalDateScalar().inputKinds( DateInputKind.STRING ).build().getCoercing();
+    assertEquals( coercing.serialize( "2011-12-03" ), "2011-12-03" );
+    assertEquals( coercing.parseValue( "2011-12-03" ), LocalDate.of( 2011, 12, 3 ) );
+
+    final CoercingParseValueException exception =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( 0L ) );
+    assertEquals( exception.getMessage(), "Error parsing literal 0 as it is the incorrect type. Expected a string." );
+
+    final CoercingParseLiteralException literalException =
+      expectThrows( CoercingParseLiteralException.class,
+                    () -> coercing.parseLiteral( new IntValue( BigInteger.ZERO ) ) );
+    assertEquals( literalException.getMessage(),
+                  "Error parsing literal IntValue{value=0} as it is the incorrect type. Expected a string." );
+
+    final CoercingSerializeException serializeException =
+      expectThrows( CoercingSerializeException.class, () -> coercing.serialize( LocalDate.of( 2011, 12, 3 ) ) );
+    assertEquals( serializeException.getMessage(),
+                  "Failed to serialize value 2011-12-03 as a LocalDate. Expected a type 'String' but was " +
+                  "'java.time.LocalDate'." );
+  }
+
+  @Test
+  public void inputKinds_WithoutString()
+  {
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateTimeScalar()
+        .inputKinds( DateInputKind.EPOCH_MILLIS, DateInputKind.TEMPORAL )
+        .build()
+        .getCoercing();
+    assertEquals( coercing.serialize( LocalDateTime.of( 2011, 12, 3, 10, 15 ) ), "2011-12-03T10:15:00" );
+
+    final CoercingParseValueException exception =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "2011-12-03T10:15" ) );
+    assertEquals( exception.getMessage(),
+                  "Error parsing literal 2011-12-03T10:15 as it is the incorrect type. Expected an integer." );
+
+    final CoercingSerializeException serializeException =
+      expectThrows( CoercingSerializeException.class, () -> coercing.serialize( "2011-12-03T10:15" ) );
+    assertEquals( serializeException.getMessage(),
+                  "Failed to serialize value 2011-12-03T10:15 as a LocalDateTime. Expected a type " +
+                  "'java.util.Date' or 'java.time.temporal.TemporalAccessor' but was 'java.lang.String'." );
+  }
+
+  @Test
+  public void inputKinds_NoParseKind()
+  {
+    final IllegalStateException exception =
+      expectThrows( IllegalStateException.class,
+                    () -> Scalars.newLocalDateScalar().inputKinds( DateInputKind.TEMPORAL ).build() );
+    assertEquals( exception.getMessage(),
+                  "Scalar LocalDate must accept either STRING or EPOCH_MILLIS inputs so that values can be parsed" );
+  }
+
+  @Test
+  public void inputKinds_NoSerializeKind()
+  {
+    final IllegalStateException exception =
+      expectThrows( IllegalStateException.class,
+                    () -> Scalars.newLocalDateScalar().inputKinds( DateInputKind.EPOCH_MILLIS ).build() );
+    assertEquals( exception.getMessage(),
+                  "Scalar LocalDate must accept either STRING or TEMPORAL inputs so that values can be serialized" );
+  }
+
+  @Test
+  public void lenient_LocalDate()
+  {
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateScalar().lenient( true ).zone( ZoneOffset.UTC ).build().getCoercing();
+    final LocalDate expected = LocalDate.of( 2011, 12, 3 );
+    final long epochSecond = expected.atStartOfDay().toEpochSecond( ZoneOffset.UTC );
+
+    assertEquals( coercing.parseValue( "2011-12-03" ), expected );
+    assertEquals( coercing.parseValue( "20111203" ), expected );
+    assertEquals( coercing.parseValue( String.valueOf( epochSecond ) ), expected );
+    assertEquals( coercing.parseValue( String.valueOf( epochSecond * 1000L ) ), expected );
+    assertEquals( coercing.parseValue( String.valueOf( epochSecond * 1000000L ) ), expected );
+    assertEquals( coercing.parseValue( epochSecond ), expected );
+    assertEquals( coercing.parseValue( epochSecond * 1000L ), expected );
+    assertEquals( coercing.parseLiteral( new StringValue( "20111203" ) ), expected );
+    assertEquals( coercing.parseLiteral( new IntValue( BigInteger.valueOf( epochSecond ) ) ), expected );
+
+    final CoercingParseValueException exception =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "20111303" ) );
+    assertEquals( exception.getMessage(),
+                  "Error parsing value '20111303'. Expected to be in the ISO local date format, such as '2011-12-03'" );
+
+    final CoercingParseValueException rangeException =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "17521201" ) );
+    assertEquals( rangeException.getMessage(),
+                  "LocalDate value 17521201 must be between January 1, 1753 and December 31, 9999. " +
+                  "Received: 1752-12-01" );
+  }
+
+  @Test
+  public void lenient_LocalDateTime()
+  {
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateTimeScalar().lenient( true ).zone( ZoneOffset.UTC ).build().getCoercing();
+    final LocalDateTime expected = LocalDateTime.of( 2011, 12, 3, 10, 15, 30 );
+    final long epochSecond = expected.toEpochSecond( ZoneOffset.UTC );
+
+    assertEquals( coercing.parseValue( "2011-12-03T10:15:30" ), expected );
+    assertEquals( coercing.parseValue( "20111203T101530" ), expected );
+    assertEquals( coercing.parseValue( "20111203T101530.25" ), expected.withNano( 250000000 ) );
+    assertEquals( coercing.parseValue( "2011-12-03" ), expected.toLocalDate().atStartOfDay() );
+    assertEquals( coercing.parseValue( "20111203" ), expected.toLocalDate().atStartOfDay() );
+    assertEquals( coercing.parseValue( String.valueOf( epochSecond ) ), expected );
+    assertEquals( coercing.parseValue( epochSecond * 1000L + 250L ), expected.withNano( 250000000 ) );
+    assertEquals( coercing.parseValue( epochSecond * 1000000L + 250000L ), expected.withNano( 250000000 ) );
+    // Less common forms are still handled by the formatter
+    assertEquals( coercing.parseValue( "2011-12-03t10:15:30" ), expected );
+
+    final CoercingParseValueException exception =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "20111203T2515" ) );
+    assertEquals( exception.getMessage(),
+                  "Error parsing value '20111203T2515'. Expected to be in the ISO date-time format such as " +
+                  "'2011-12-03T10:15:30'" );
+  }
+
+  @Test
+  public void lenient_Disabled()
+  {
+    final Coercing<?, ?> coercing = Scalars.newLocalDateScalar().zone( ZoneOffset.UTC ).build().getCoercing();
+    expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "20111203" ) );
+    // Numbers are always epoch milliseconds when not lenient
+    assertEquals( coercing.parseValue( 1000L ), LocalDate.of( 1970, 1, 1 ) );
+  }
+
+  @Test
+  public void epochUnitThresholds()
+  {
+    final Coercing<?, ?> coercing =
+      Scalars.newLocalDateTimeScalar()
+        .lenient( true )
+        .zone( ZoneOffset.UTC )
+        .epochUnitThresholds( 10, 100 )
+        .build()
+        .getCoercing();
+    assertEquals( coercing.parseValue( 9L ), LocalDateTime.of( 1970, 1, 1, 0, 0, 9 ) );
+    assertEquals( coercing.parseValue( 99L ), LocalDateTime.of( 1970, 1, 1, 0, 0, 0, 99000000 ) );
+    assertEquals( coercing.parseValue( 100L ), LocalDateTime.of( 1970, 1, 1, 0, 0, 0, 0 ) );
+    assertEquals( coercing.parseValue( -9L ), LocalDateTime.of( 1969, 12, 31, 23, 59, 51 ) );
+
+    expectThrows( IllegalArgumentException.class, () -> Scalars.newLocalDateScalar().epochUnitThresholds( 10, 9 ) );
+    expectThrows( IllegalArgumentException.class, () -> Scalars.newLocalDateScalar().epochUnitThresholds( -1, 9 ) );
+  }
+}
@@ -0,0 +1,257 @@
+package org.realityforge.graphql.scalars;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class DateTimesTest
+{
+  private static final long[] EPOCH_MILLIS =
+    new long[]{ 0L,
+                1L,
+                -1L,
+                999L,
+                -1000L,
+                -1001L,
+                86399999L,
+                86400000L,
+                -86400000L,
+                -86400001L,
+                1481002200000L,
+                1481002200123L,
+                -6847804800000L,
+                253402300799999L };
+
+  @Test
+  public void toLocalDate()
+  {
+    for ( final ZoneId zone : zones() )
+    {
+      for ( final long epochMilli : EPOCH_MILLIS )
+      {
+        final LocalDate expected = Instant.ofEpochMilli( epochMilli ).atZone( zone ).toLocalDate();
+        assertEquals( DateTimes.toLocalDate( epochMilli, zone ), expected, "Zone " + zone + " at " + epochMilli );
+        assertEquals( DateTimes.toEpochDay( epochMilli, zone ), expected.toEpochDay() );
+      }
+    }
+  }
+
+  @Test
+  public void toLocalDateTime()
+  {
+    for ( final ZoneId zone : zones() )
+    {
+      for ( final long epochMilli : EPOCH_MILLIS )
+      {
+        final LocalDateTime expected = Instant.ofEpochMilli( epochMilli ).atZone( zone ).toLocalDateTime();
+        assertEquals( DateTimes.toLocalDateTime( epochMilli, zone ), expected, "Zone " + zone + " at " + epochMilli );
+      }
+    }
+  }
+
+  private ZoneId[] zones()
+  {
+    return new ZoneId[]{ ZoneOffset.UTC,
+                         ZoneOffset.ofHoursMinutes( -9, -30 ),
+                         ZoneId.of( "Australia/Melbourne" ),
+                         ZoneId.of( "America/New_York" ),
+                         ZoneId.systemDefault() };
+  }
+
+  @Test
+  public void tryParseLocalDate()
+  {
+    assertEquals( DateTimes.tryParseLocalDate( "2011-12-03" ), LocalDate.of( 2011, 12, 3 ) );
+    assertEquals( DateTimes.tryParseLocalDate( "0001-01-01" ), LocalDate.of( 1, 1, 1 ) );
+    assertEquals( DateTimes.tryParseLocalDate( "2016-02-29" ), LocalDate.of( 2016, 2, 29 ) );
+    assertEquals( DateTimes.tryParseLocalDate( "9999-12-31" ), LocalDate.of( 9999, 12, 31 ) );
+
+    for ( final String text : new String[]{ "2011-12-3",
+                                            "2011-12-03T",
+                                            "2011/12/03",
+                                            "2011-13-03",
+                                            "2011-00-03",
+                                            "2011-12-00",
+                                            "2011-11-31",
+                                            "2015-02-29",
+                                            "2011-1a-03",
+                                            "+10000-01-01",
+                                            "" } )
+    {
+      assertNull( DateTimes.tryParseLocalDate( text ), text );
+    }
+  }
+
+  @Test
+  public void tryParseLocalDateTime()
+  {
+    for ( final String text : new String[]{ "2011-12-03T10:15",
+                                            "2011-12-03T10:15:30",
+                                            "2011-12-03T00:00:00.1",
+                                            "2011-12-03T23:59:59.123",
+                                            "2011-12-03T23:59:59.000000001",
+                                            "2011-12-03T23:59:59.999999999",
+                                            "2016-02-29T01:02:03.450" } )
+    {
+      assertEquals( DateTimes.tryParseLocalDateTime( text ), LocalDateTime.parse( text ), text );
+    }
+
+    for ( final String text : new String[]{ "2011-12-03",
+                                            "2011-12-03T",
+                                            "2011-12-03T10",
+                                            "2011-12-03T10:1",
+                                            "2011-12-03T10:15:3",
+                                            "2011-12-03T10:15:30.",
+                                            "2011-12-03T10:15:30.1234567890",
+                                            "2011-12-03T24:00",
+                                            "2011-12-03T10:60",
+                                            "2011-12-03T10:15:60",
+                                            "2011-12-03t10:15:30",
+                                            "2011-12-03 10:15:30",
+                                            "2011-12-03T10:15:30X",
+                                            "2011-02-30T10:15:30" } )
+    {
+      assertNull( DateTimes.tryParseLocalDateTime( text ), text );
+    }
+  }
+
+  @Test
+  public void parseBasicDate()
+  {
+    assertEquals( DateTimes.parseBasicDate( "20111203", 0 ), 20111203 );
+    assertEquals( DateTimes.parseBasicDate( "20160229", 0 ), 20160229 );
+    assertEquals( DateTimes.parseBasicDate( "20150229", 0 ), -1 );
+    assertEquals( DateTimes.parseBasicDate( "20111303", 0 ), -1 );
+    assertEquals( DateTimes.parseBasicDate( "2011120X", 0 ), -1 );
+  }
+
+  @Test
+  public void parseBasicTime()
+  {
+    assertEquals( DateTimes.parseBasicTime( "T1015", 1 ), LocalTime.of( 10, 15 ).toNanoOfDay() );
+    assertEquals( DateTimes.parseBasicTime( "T101530", 1 ), LocalTime.of( 10, 15, 30 ).toNanoOfDay() );
+    assertEquals( DateTimes.parseBasicTime( "T101530.25", 1 ), LocalTime.of( 10, 15, 30, 250000000 ).toNanoOfDay() );
+    assertEquals( DateTimes.parseBasicTime( "T101530.999999999", 1 ),
+                  LocalTime.of( 10, 15, 30, 999999999 ).toNanoOfDay() );
+    assertEquals( DateTimes.parseBasicTime( "T10", 1 ), -1L );
+    assertEquals( DateTimes.parseBasicTime( "T10153", 1 ), -1L );
+    assertEquals( DateTimes.parseBasicTime( "T101530.", 1 ), -1L );
+    assertEquals( DateTimes.parseBasicTime( "T101530X5", 1 ), -1L );
+    assertEquals( DateTimes.parseBasicTime( "T101530.1234567890", 1 ), -1L );
+    assertEquals( DateTimes.parseBasicTime( "T2400", 1 ), -1L );
+    assertEquals( DateTimes.parseBasicTime( "T1060", 1 ), -1L );
+  }
+
+  @Test
+  public void parseInteger()
+  {
+    assertEquals( DateTimes.parseInteger( "0" ), 0L );
+    assertEquals( DateTimes.parseInteger( "1323907200" ), 1323907200L );
+    assertEquals( DateTimes.parseInteger( "-1323907200" ), -1323907200L );
+    assertEquals( DateTimes.parseInteger( "999999999999999999" ), 999999999999999999L );
+  }
+
+  @Test
+  public void toEpochDay()
+  {
+    for ( final LocalDate date : new LocalDate[]{ LocalDate.of( 0, 1, 1 ),
+                                                  LocalDate.of( 1, 3, 1 ),
+                                                  LocalDate.of( 1753, 1, 1 ),
+                                                  LocalDate.of( 1900, 2, 28 ),
+                                                  LocalDate.of( 1900, 3, 1 ),
+                                                  LocalDate.of( 1969, 12, 31 ),
+                                                  LocalDate.of( 1970, 1, 1 ),
+                                                  LocalDate.of( 2000, 2, 29 ),
+                                                  LocalDate.of( 2000, 3, 1 ),
+                                                  LocalDate.of( 2011, 12, 3 ),
+                                                  LocalDate.of( 9999, 12, 31 ) } )
+    {
+      final int encoded = date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+      assertEquals( DateTimes.toEpochDay( encoded ), date.toEpochDay(), date.toString() );
+      assertEquals( DateTimes.toLocalDate( encoded ), date );
+    }
+  }
+
+  @Test
+  public void format()
+  {
+    final LocalDateTime[] values = new LocalDateTime[]{ LocalDateTime.of( 2011, 12, 3, 10, 15 ),
+                                                        LocalDateTime.of( 2011, 12, 3, 10, 15, 30 ),
+                                                        LocalDateTime.of( 2011, 12, 3, 10, 15, 30, 500000000 ),
+                                                        LocalDateTime.of( 2011, 12, 3, 10, 15, 30, 120000 ),
+                                                        LocalDateTime.of( 2011, 12, 3, 10, 15, 30, 1 ),
+                                                        LocalDateTime.of( 2011, 12, 3, 10, 15, 30, 999999999 ),
+                                                        LocalDateTime.of( 1, 1, 1, 0, 0 ),
+                                                        LocalDateTime.of( 999, 1, 1, 0, 0 ),
+                                                        LocalDateTime.of( 0, 1, 1, 0, 0 ),
+                                                        LocalDateTime.of( -1, 1, 1, 0, 0 ),
+                                                        LocalDateTime.of( 10000, 1, 1, 1, 23 ),
+                                                        LocalDateTime.MIN,
+                                                        LocalDateTime.MAX };
+    for ( final LocalDateTime value : values )
+    {
+      assertEquals( DateTimes.format( value ), DateTimeFormatter.ISO_LOCAL_DATE_TIME.format( value ) );
+    }
+  }
+
+  @Test
+  public void format_LocalDate()
+  {
+    final LocalDate[] values = new LocalDate[]{ LocalDate.of( 2011, 12, 3 ),
+                                                LocalDate.of( 1, 1, 1 ),
+                                                LocalDate.of( 999, 10, 10 ),
+                                                LocalDate.of( 0, 1, 1 ),
+                                                LocalDate.of( 9999, 12, 31 ),
+                                                LocalDate.of( -1, 1, 1 ),
+                                                LocalDate.of( 10000, 1, 1 ),
+                                                LocalDate.MIN,
+                                                LocalDate.MAX };
+    for ( final LocalDate value : values )
+    {
+      assertEquals( DateTimes.format( value ), DateTimeFormatter.ISO_LOCAL_DATE.format( value ) );
+    }
+  }
+
+  @Test
+  public void format_ReusesBufferSafely()
+  {
+    // Formatting a long value followed by a short value must not leak characters from the first
+    assertEquals( DateTimes.format( LocalDateTime.of( 2011, 12, 3, 10, 15, 30, 123456789 ) ),
+                  "2011-12-03T10:15:30.123456789" );
+    assertEquals( DateTimes.format( LocalDateTime.of( 2011, 12, 3, 10, 15 ) ), "2011-12-03T10:15:00" );
+    assertEquals( DateTimes.format( LocalDate.of( 2011, 12, 4 ) ), "2011-12-04" );
+  }
+
+  @Test
+  public void localDateToStringMatchesIsoFormat()
+  {
+    // Formatting relies on this equivalence for years outside 0 to 9999
+    final LocalDate[] values = new LocalDate[]{ LocalDate.of( 2011, 12, 3 ),
+                                                LocalDate.of( 1, 1, 1 ),
+                                                LocalDate.of( 0, 1, 1 ),
+                                                LocalDate.of( -1, 1, 1 ),
+                                                LocalDate.of( -10000, 1, 1 ),
+                                                LocalDate.of( 10000, 1, 1 ),
+                                                LocalDate.MIN,
+                                                LocalDate.MAX };
+    for ( final LocalDate value : values )
+    {
+      assertEquals( value.toString(), DateTimeFormatter.ISO_LOCAL_DATE.format( value ) );
+    }
+  }
+
+  @Test
+  public void rejectedTextIsRejectedByFormatter()
+  {
+    // Text rejected by the fast path must be reported by the formatter so the behaviour is unchanged
+    expectThrows( DateTimeParseException.class, () -> DateTimeFormatter.ISO_LOCAL_DATE.parse( "2015-02-29" ) );
+    expectThrows( DateTimeParseException.class, () -> LocalDateTime.parse( "2011-12-03T24:00" ) );
+  }
+}
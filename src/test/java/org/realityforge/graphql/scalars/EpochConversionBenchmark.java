@@ -0,0 +1,244 @@
+package org.realityforge.graphql.scalars;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compares the ways of converting an epoch millisecond value to a date in a zone.
+ * The conversion through an Instant and a ZonedDateTime is compared with the offset arithmetic in
+ * {@link DateTimes}, for fixed offsets and for region zones whose offset is looked up in the ZoneRules.
+ * The lookup is also measured on its own. Dividing by the length of a day with Math.floorDiv is compared
+ * with a division by Math.multiplyHigh, when the runtime provides it. The bytes allocated per operation
+ * are reported alongside the time.
+ *
+ * <p>This is not part of the test suite as the results depend upon the machine. Run it from the
+ * test classpath, optionally specifying the measurement time in milliseconds. i.e.</p>
+ * <pre>{@code
+ * java -cp ... org.realityforge.graphql.scalars.EpochConversionBenchmark 2000
+ * }</pre>
+ */
+public final class EpochConversionBenchmark
+{
+  private static final long MILLIS_PER_DAY = 86400000L;
+  /**
+   * The number of divisions made by each division operation, as a single division is too short to measure.
+   */
+  private static final int DIVISIONS_PER_OPERATION = 64;
+  /**
+   * Math.multiplyHigh( n, DAY_RECIPROCAL ) >>> DAY_SHIFT is n / MILLIS_PER_DAY for every non-negative long.
+   */
+  private static final long DAY_RECIPROCAL = 0x636BA875FD33DC87L;
+  private static final int DAY_SHIFT = 25;
+  /**
+   * Math.multiplyHigh(long,long), which is only available from Java 9.
+   */
+  @Nullable
+  private static final MethodHandle MULTIPLY_HIGH = findMultiplyHigh();
+
+  private EpochConversionBenchmark()
+  {
+  }
+
+  public static void main( @Nonnull final String[] args )
+    throws Exception
+  {
+    final long measureMillis = args.length > 0 ? Long.parseLong( args[ 0 ] ) : 1000L;
+    for ( final Result result : run( measureMillis / 2, measureMillis ) )
+    {
+      System.out.println( result );
+    }
+  }
+
+  /**
+   * Run every operation on a single thread and return the results.
+   */
+  @Nonnull
+  static List<Result> run( final long warmupMillis, final long measureMillis )
+    throws InterruptedException
+  {
+    // Instants between 1970 and 2040, spanning both the historic transitions and the recurring rules of the zones
+    final Random random = new Random( 42 );
+    final long[] epochMillis = new long[ BenchmarkHarness.INDEX_COUNT ];
+    for ( int i = 0; i < epochMillis.length; i++ )
+    {
+      epochMillis[ i ] = (long) ( random.nextDouble() * 70 * 365.25 * MILLIS_PER_DAY );
+    }
+
+    final List<Result> results = new ArrayList<>();
+    // The cost of invoking an operation, to be subtracted from the other results
+    results.add( measure( "Harness overhead", i -> ZoneOffset.UTC, warmupMillis, measureMillis ) );
+    for ( final ZoneId zone : new ZoneId[]{ ZoneOffset.UTC,
+                                            ZoneOffset.ofHours( 10 ),
+                                            ZoneId.of( "Australia/Melbourne" ),
+                                            ZoneId.of( "America/New_York" ) } )
+    {
+      results.add( measure( "LocalDate via ZonedDateTime " + zone,
+                            i -> LocalDate.from( Instant.ofEpochMilli( epochMillis[ i ] ).atZone( zone ) ),
+                            warmupMillis,
+                            measureMillis ) );
+      results.add( measure( "LocalDate via offset " + zone,
+                            i -> DateTimes.toLocalDate( epochMillis[ i ], zone ),
+                            warmupMillis,
+                            measureMillis ) );
+      results.add( measure( "LocalDateTime via ZonedDateTime " + zone,
+                            i -> LocalDateTime.from( Instant.ofEpochMilli( epochMillis[ i ] ).atZone( zone ) ),
+                            warmupMillis,
+                            measureMillis ) );
+      results.add( measure( "LocalDateTime via offset " + zone,
+                            i -> DateTimes.toLocalDateTime( epochMillis[ i ], zone ),
+                            warmupMillis,
+                            measureMillis ) );
+      results.add( measure( "Offset lookup " + zone,
+                            i -> DateTimes.getOffset( epochMillis[ i ], zone ),
+                            warmupMillis,
+                            measureMillis ) );
+    }
+
+    results.add( measure( "Math.floorDiv by day",
+                          i -> sumFloorDiv( epochMillis, i ),
+                          warmupMillis,
+                          measureMillis ).perDivision() );
+    if ( null != MULTIPLY_HIGH )
+    {
+      results.add( measure( "Math.multiplyHigh by day",
+                            i -> sumMultiplyHigh( epochMillis, i ),
+                            warmupMillis,
+                            measureMillis ).perDivision() );
+    }
+    return results;
+  }
+
+  @Nonnull
+  private static Result measure( @Nonnull final String name,
+                                 @Nonnull final BenchmarkHarness.Operation operation,
+                                 final long warmupMillis,
+                                 final long measureMillis )
+    throws InterruptedException
+  {
+    final double throughput = BenchmarkHarness.measureThroughput( operation, 1, warmupMillis, measureMillis );
+    final double bytesPerOperation = BenchmarkHarness.measureAllocation( operation, warmupMillis, measureMillis );
+    return new Result( name, TimeUnit.SECONDS.toNanos( 1 ) / throughput, bytesPerOperation );
+  }
+
+  private static long sumFloorDiv( @Nonnull final long[] epochMillis, final int index )
+  {
+    long sum = 0;
+    for ( int i = 0; i < DIVISIONS_PER_OPERATION; i++ )
+    {
+      sum += Math.floorDiv( epochMillis[ ( index + i ) & ( epochMillis.length - 1 ) ], MILLIS_PER_DAY );
+    }
+    return sum;
+  }
+
+  private static long sumMultiplyHigh( @Nonnull final long[] epochMillis, final int index )
+  {
+    long sum = 0;
+    for ( int i = 0; i < DIVISIONS_PER_OPERATION; i++ )
+    {
+      sum += floorDivByDay( epochMillis[ ( index + i ) & ( epochMillis.length - 1 ) ] );
+    }
+    return sum;
+  }
+
+  /**
+   * Return Math.floorDiv( epochMilli, MILLIS_PER_DAY ) computed with Math.multiplyHigh.
+   * A negative value is complemented so that the division rounds towards negative infinity.
+   */
+  static long floorDivByDay( final long epochMilli )
+  {
+    assert null != MULTIPLY_HIGH;
+    final long sign = epochMilli >> 63;
+    try
+    {
+      return ( (long) MULTIPLY_HIGH.invokeExact( epochMilli ^ sign, DAY_RECIPROCAL ) >>> DAY_SHIFT ) ^ sign;
+    }
+    catch ( final Throwable t )
+    {
+      throw new IllegalStateException( t );
+    }
+  }
+
+  static boolean isMultiplyHighAvailable()
+  {
+    return null != MULTIPLY_HIGH;
+  }
+
+  @Nullable
+  private static MethodHandle findMultiplyHigh()
+  {
+    try
+    {
+      return MethodHandles.lookup()
+        .findStatic( Math.class, "multiplyHigh", MethodType.methodType( long.class, long.class, long.class ) );
+    }
+    catch ( final ReflectiveOperationException e )
+    {
+      return null;
+    }
+  }
+
+  static final class Result
+  {
+    @Nonnull
+    private final String _name;
+    private final double _nanosPerOperation;
+    private final double _bytesPerOperation;
+
+    Result( @Nonnull final String name, final double nanosPerOperation, final double bytesPerOperation )
+    {
+      _name = name;
+      _nanosPerOperation = nanosPerOperation;
+      _bytesPerOperation = bytesPerOperation;
+    }
+
+    @Nonnull
+    String getName()
+    {
+      return _name;
+    }
+
+    double getNanosPerOperation()
+    {
+      return _nanosPerOperation;
+    }
+
+    /**
+     * Return the bytes allocated per operation, or NaN if allocation was not measured.
+     */
+    double getBytesPerOperation()
+    {
+      return _bytesPerOperation;
+    }
+
+    @Nonnull
+    Result perDivision()
+    {
+      return new Result( _name,
+                         _nanosPerOperation / DIVISIONS_PER_OPERATION,
+                         _bytesPerOperation / DIVISIONS_PER_OPERATION );
+    }
+
+    @Override
+    public String toString()
+    {
+      return String.format( Locale.ENGLISH,
+                            "%-52s %8.2f ns/op %8.1f B/op",
+                            _name,
+                            _nanosPerOperation,
+                            _bytesPerOperation );
+    }
+  }
+}
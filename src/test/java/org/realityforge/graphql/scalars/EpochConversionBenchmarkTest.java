@@ -0,0 +1,47 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class EpochConversionBenchmarkTest
+{
+  @Test
+  public void run()
+    throws Exception
+  {
+    // Only checks that the benchmark runs as timings vary too much between machines to assert upon
+    final List<EpochConversionBenchmark.Result> results = EpochConversionBenchmark.run( 5, 20 );
+    assertEquals( results.size(), EpochConversionBenchmark.isMultiplyHighAvailable() ? 23 : 22 );
+    for ( final EpochConversionBenchmark.Result result : results )
+    {
+      assertTrue( result.getNanosPerOperation() > 0, result.toString() );
+      if ( BenchmarkHarness.isAllocationMeasured() )
+      {
+        assertTrue( result.getBytesPerOperation() >= 0, result.toString() );
+      }
+    }
+  }
+
+  @Test
+  public void floorDivByDay()
+  {
+    if ( EpochConversionBenchmark.isMultiplyHighAvailable() )
+    {
+      for ( final long value : new long[]{ 0L,
+                                           1L,
+                                           -1L,
+                                           86399999L,
+                                           86400000L,
+                                           -86400000L,
+                                           -86400001L,
+                                           1481002200123L,
+                                           -6847804800000L,
+                                           Long.MAX_VALUE,
+                                           Long.MIN_VALUE } )
+      {
+        assertEquals( EpochConversionBenchmark.floorDivByDay( value ), Math.floorDiv( value, 86400000L ) );
+      }
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.SplittableRandom;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class HyperLogLogTest
+{
+  @Test
+  public void estimate_Empty()
+  {
+    assertEquals( new HyperLogLog( 12 ).estimate(), 0L );
+  }
+
+  @Test
+  public void estimate_Duplicates()
+  {
+    final HyperLogLog hyperLogLog = new HyperLogLog( 12 );
+    for ( int i = 0; i < 1000; i++ )
+    {
+      hyperLogLog.add( 42L );
+    }
+    assertEquals( hyperLogLog.estimate(), 1L );
+  }
+
+  @Test
+  public void estimate()
+  {
+    final SplittableRandom random = new SplittableRandom( 42 );
+    for ( final int cardinality : new int[]{ 10, 1000, 20000, 500000 } )
+    {
+      final HyperLogLog hyperLogLog = new HyperLogLog( 12 );
+      for ( int i = 0; i < cardinality; i++ )
+      {
+        hyperLogLog.add( random.nextLong() );
+      }
+      // Standard error is ~1.6% at this precision so allow for 5%
+      final double error = Math.abs( hyperLogLog.estimate() - cardinality ) / (double) cardinality;
+      assertTrue( error < 0.05, "Cardinality " + cardinality + " estimated as " + hyperLogLog.estimate() );
+    }
+  }
+}
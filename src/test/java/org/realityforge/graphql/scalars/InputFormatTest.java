@@ -0,0 +1,40 @@
+package org.realityforge.graphql.scalars;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class InputFormatTest
+{
+  @Test
+  public void classify()
+  {
+    assertClassification( "2011-12-03", InputFormat.ISO_DATE );
+    assertClassification( "20111203", InputFormat.BASIC_DATE );
+    assertClassification( "2011-12-03T10:15", InputFormat.ISO_DATE_TIME );
+    assertClassification( "2011-12-03T10:15:30.123", InputFormat.ISO_DATE_TIME );
+    assertClassification( "20111203T1015", InputFormat.BASIC_DATE_TIME );
+    assertClassification( "20111203T101530.5", InputFormat.BASIC_DATE_TIME );
+    assertClassification( "0", InputFormat.INTEGER );
+    assertClassification( "1323907200", InputFormat.INTEGER );
+    assertClassification( "-1323907200", InputFormat.INTEGER );
+    assertClassification( "123456789012345678", InputFormat.INTEGER );
+    assertClassification( "-123456789012345678", InputFormat.INTEGER );
+
+    assertClassification( "", InputFormat.UNKNOWN );
+    assertClassification( "-", InputFormat.UNKNOWN );
+    assertClassification( "1234567890123456789", InputFormat.UNKNOWN );
+    assertClassification( "+1323907200", InputFormat.UNKNOWN );
+    assertClassification( "2011-12-3", InputFormat.UNKNOWN );
+    assertClassification( "2011/12/03", InputFormat.UNKNOWN );
+    assertClassification( "2011-12-03X", InputFormat.UNKNOWN );
+    assertClassification( "2011-12-03t10:15", InputFormat.UNKNOWN );
+    assertClassification( "2011-1203T10:15", InputFormat.UNKNOWN );
+    assertClassification( "20111203X1015", InputFormat.UNKNOWN );
+    assertClassification( "+10000-01-01", InputFormat.UNKNOWN );
+  }
+
+  private void assertClassification( final String text, final InputFormat expected )
+  {
+    assertEquals( InputFormat.classify( text ), expected, text );
+  }
+}
@@ -45,6 +45,17 @@ public class LocalDateCoercingTest
                   "Error parsing value '2011-12-03T'. Expected to be in the ISO local date format, such as '2011-12-03'" );
   }
 
+  @Test
+  public void parseValue_StringInvalidDate()
+  {
+    final LocalDateCoercing coercing = new LocalDateCoercing();
+    final CoercingParseValueException exception =
+      expectThrows( CoercingParseValueException.class, () -> coercing.parseValue( "2015-02-29" ) );
+    assertEquals( exception.getErrorType(), ErrorType.ValidationError );
+    assertEquals( exception.getMessage(),
+                  "Error parsing value '2015-02-29'. Expected to be in the ISO local date format, such as '2011-12-03'" );
+  }
+
   @Test
   public void parseValue_TooEarly()
   {
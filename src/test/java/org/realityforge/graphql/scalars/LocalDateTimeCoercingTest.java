@@ -25,6 +25,14 @@ public class LocalDateTimeCoercingTest
     assertEquals( coercing.parseValue( "2011-12-03T10:15:30" ), LocalDateTime.of( 2011, 12, 3, 10, 15, 30 ) );
   }
 
+  @Test
+  public void parseValue_StringWithFraction()
+  {
+    final LocalDateTimeCoercing coercing = new LocalDateTimeCoercing();
+    assertEquals( coercing.parseValue( "2011-12-03T10:15:30.25" ),
+                  LocalDateTime.of( 2011, 12, 3, 10, 15, 30, 250000000 ) );
+  }
+
   @Test
   public void parseValue_Number()
   {
@@ -159,6 +167,14 @@ public class LocalDateTimeCoercingTest
     assertEquals( coercing.serialize( LocalDateTime.of( 2011, 12, 3, 23, 59, 59 ) ), "2011-12-03T23:59:59" );
   }
 
+  @Test
+  public void serialize_LocalDateWithFraction()
+  {
+    final LocalDateTimeCoercing coercing = new LocalDateTimeCoercing();
+    assertEquals( coercing.serialize( LocalDateTime.of( 2011, 12, 3, 23, 59, 0, 120000000 ) ),
+                  "2011-12-03T23:59:00.12" );
+  }
+
   @SuppressWarnings( "deprecation" )
   @Test
   public void serialize_Date()
@@ -0,0 +1,49 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class SampleBufferTest
+{
+  @Test
+  public void offerAndPoll()
+  {
+    final SampleBuffer buffer = new SampleBuffer( 4 );
+    assertNull( buffer.poll() );
+    assertEquals( buffer.size(), 0 );
+
+    assertTrue( buffer.offer( "A" ) );
+    assertTrue( buffer.offer( "B" ) );
+    assertEquals( buffer.size(), 2 );
+    assertEquals( buffer.poll(), "A" );
+    assertEquals( buffer.poll(), "B" );
+    assertNull( buffer.poll() );
+    assertEquals( buffer.size(), 0 );
+  }
+
+  @Test
+  public void offer_Full()
+  {
+    final SampleBuffer buffer = new SampleBuffer( 4 );
+    // Wrap around the end of the buffer before filling it
+    assertTrue( buffer.offer( "A" ) );
+    assertEquals( buffer.poll(), "A" );
+    for ( final String value : new String[]{ "B", "C", "D", "E" } )
+    {
+      assertTrue( buffer.offer( value ) );
+    }
+    assertFalse( buffer.offer( "F" ) );
+    assertEquals( buffer.size(), 4 );
+
+    assertEquals( buffer.poll(), "B" );
+    assertTrue( buffer.offer( "F" ) );
+    final List<Object> values = new ArrayList<>();
+    for ( Object value = buffer.poll(); null != value; value = buffer.poll() )
+    {
+      values.add( value );
+    }
+    assertEquals( values.toString(), "[C, D, E, F]" );
+  }
+}
@@ -0,0 +1,135 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.schema.Coercing;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class SerializedValueDeduplicationInstrumentationTest
+{
+  @Test
+  public void execute()
+  {
+    final Map<String, Object> data = execute( new SerializedValueDeduplicationInstrumentation() );
+
+    final List<?> dates = (List<?>) data.get( "dates" );
+    assertEquals( dates.size(), 3 );
+    assertEquals( dates.get( 0 ), "2011-12-03" );
+    assertSame( dates.get( 1 ), dates.get( 0 ) );
+    assertEquals( dates.get( 2 ), "2011-12-04" );
+    assertSame( data.get( "date" ), dates.get( 0 ) );
+
+    // The table is only current while fields are being completed
+    assertNull( SerializedValueTableHolder.current() );
+  }
+
+  @Test
+  public void execute_fieldCompletionFails()
+  {
+    final SerializedValueDeduplicationInstrumentation instrumentation = new SerializedValueDeduplicationInstrumentation();
+    final GraphQLScalarType failing =
+      GraphQLScalarType.newScalar()
+        .name( "Failing" )
+        .coercing( new Coercing<Object, Object>()
+        {
+          @Override
+          public Object serialize( final Object input )
+          {
+            throw new IllegalStateException( "Failed to serialize" );
+          }
+
+          @Override
+          public Object parseValue( final Object input )
+          {
+            return input;
+          }
+
+          @Override
+          public Object parseLiteral( final Object input )
+          {
+            return input;
+          }
+        } )
+        .build();
+    final GraphQLObjectType query =
+      GraphQLObjectType.newObject()
+        .name( "Query" )
+        .field( GraphQLFieldDefinition.newFieldDefinition().name( "date" ).type( Scalars.LOCAL_DATE ) )
+        .field( GraphQLFieldDefinition.newFieldDefinition().name( "failing" ).type( failing ) )
+        .build();
+    final DataFetcher<?> dateFetcher = environment -> "2011-12-03";
+    final DataFetcher<?> failingFetcher = environment -> "X";
+    final GraphQLCodeRegistry codeRegistry =
+      GraphQLCodeRegistry.newCodeRegistry()
+        .dataFetcher( FieldCoordinates.coordinates( "Query", "date" ), dateFetcher )
+        .dataFetcher( FieldCoordinates.coordinates( "Query", "failing" ), failingFetcher )
+        .build();
+    final GraphQLSchema schema = GraphQLSchema.newSchema().query( query ).codeRegistry( codeRegistry ).build();
+    final GraphQL graphQL = GraphQL.newGraphQL( schema ).instrumentation( instrumentation ).build();
+
+    // graphql-java rethrows exceptions other than CoercingSerializeException so the
+    // field completion context is never dispatched
+    expectThrows( IllegalStateException.class, () -> graphQL.execute( "{ date failing }" ) );
+
+    // The table must not outlive the execution
+    assertNull( SerializedValueTableHolder.current() );
+    final LocalDateCoercing coercing = new LocalDateCoercing();
+    assertNotSame( coercing.serialize( LocalDate.of( 2011, 12, 3 ) ), coercing.serialize( LocalDate.of( 2011, 12, 3 ) ) );
+  }
+
+  @Test
+  public void executeWithoutInstrumentation()
+  {
+    final Map<String, Object> data = execute( null );
+
+    final List<?> dates = (List<?>) data.get( "dates" );
+    assertEquals( dates.get( 1 ), dates.get( 0 ) );
+    assertNotSame( dates.get( 1 ), dates.get( 0 ) );
+  }
+
+  @Nonnull
+  private Map<String, Object> execute( @Nullable final Instrumentation instrumentation )
+  {
+    final GraphQLObjectType query =
+      GraphQLObjectType.newObject()
+        .name( "Query" )
+        .field( GraphQLFieldDefinition.newFieldDefinition()
+                  .name( "dates" )
+                  .type( GraphQLList.list( Scalars.LOCAL_DATE ) ) )
+        .field( GraphQLFieldDefinition.newFieldDefinition().name( "date" ).type( Scalars.LOCAL_DATE ) )
+        .build();
+    final DataFetcher<?> datesFetcher =
+      environment -> Arrays.asList( LocalDate.of( 2011, 12, 3 ), LocalDate.of( 2011, 12, 3 ), LocalDate.of( 2011, 12, 4 ) );
+    final DataFetcher<?> dateFetcher = environment -> "2011-12-03";
+    final GraphQLCodeRegistry codeRegistry =
+      GraphQLCodeRegistry.newCodeRegistry()
+        .dataFetcher( FieldCoordinates.coordinates( "Query", "dates" ), datesFetcher )
+        .dataFetcher( FieldCoordinates.coordinates( "Query", "date" ), dateFetcher )
+        .build();
+    final GraphQLSchema schema = GraphQLSchema.newSchema().query( query ).codeRegistry( codeRegistry ).build();
+    final GraphQL.Builder builder = GraphQL.newGraphQL( schema );
+    if ( null != instrumentation )
+    {
+      builder.instrumentation( instrumentation );
+    }
+    final ExecutionResult result = builder.build().execute( "{ dates date }" );
+    assertTrue( result.getErrors().isEmpty(), String.valueOf( result.getErrors() ) );
+    return result.getData();
+  }
+}
@@ -0,0 +1,140 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class SerializedValueTableTest
+{
+  @Test
+  public void activate()
+  {
+    assertNull( SerializedValueTableHolder.current() );
+
+    final SerializedValueTable table1 = new SerializedValueTable();
+    final SerializedValueTable table2 = new SerializedValueTable();
+
+    final InstrumentationContext<ExecutionResult> context1 = table1.activate();
+    assertSame( SerializedValueTableHolder.current(), table1 );
+
+    final InstrumentationContext<ExecutionResult> context2 = table2.activate();
+    assertSame( SerializedValueTableHolder.current(), table2 );
+
+    context2.onDispatched( null );
+    assertSame( SerializedValueTableHolder.current(), table1 );
+
+    context1.onDispatched( null );
+    assertNull( SerializedValueTableHolder.current() );
+  }
+
+  @Test
+  public void complete()
+  {
+    final SerializedValueTable table = new SerializedValueTable();
+    table.intern( LocalDate.of( 2011, 12, 3 ), "2011-12-03" );
+
+    // Simulate field completion failing so the context is never dispatched
+    table.activate();
+    assertSame( SerializedValueTableHolder.current(), table );
+
+    table.complete();
+    assertTrue( table.isCompleted() );
+    assertEquals( table.size(), 0 );
+    assertNull( SerializedValueTableHolder.current() );
+  }
+
+  @Test
+  public void complete_onAnotherThread()
+    throws Exception
+  {
+    final SerializedValueTable table = new SerializedValueTable();
+    table.activate();
+
+    final Thread thread = new Thread( table::complete );
+    thread.start();
+    thread.join();
+
+    // The table is still referenced by this thread but is no longer current
+    assertNull( SerializedValueTableHolder.current() );
+    assertEquals( new LocalDateCoercing().serialize( LocalDate.of( 2011, 12, 3 ) ), "2011-12-03" );
+    assertEquals( table.size(), 0 );
+  }
+
+  @Test
+  public void activate_completedTableNotRestored()
+    throws Exception
+  {
+    final SerializedValueTable stale = new SerializedValueTable();
+    stale.activate();
+    final Thread thread = new Thread( stale::complete );
+    thread.start();
+    thread.join();
+
+    final SerializedValueTable table = new SerializedValueTable();
+    final InstrumentationContext<ExecutionResult> context = table.activate();
+    assertSame( SerializedValueTableHolder.current(), table );
+
+    context.onDispatched( null );
+    assertNull( SerializedValueTableHolder.current() );
+  }
+
+  @Test
+  public void intern()
+  {
+    final SerializedValueTable table = new SerializedValueTable();
+    final LocalDate date = LocalDate.of( 2011, 12, 3 );
+    assertNull( table.get( date ) );
+
+    final String serialized = table.intern( date, date.toString() );
+    assertEquals( serialized, "2011-12-03" );
+    assertSame( table.get( LocalDate.of( 2011, 12, 3 ) ), serialized );
+    assertSame( table.intern( LocalDate.of( 2011, 12, 3 ), "2011-12-03" ), serialized );
+    assertEquals( table.size(), 1 );
+  }
+
+  @Test
+  public void serialize_LocalDate()
+  {
+    final LocalDateCoercing coercing = new LocalDateCoercing();
+    assertNotSame( coercing.serialize( LocalDate.of( 2011, 12, 3 ) ), coercing.serialize( LocalDate.of( 2011, 12, 3 ) ) );
+
+    final SerializedValueTable table = new SerializedValueTable();
+    final InstrumentationContext<ExecutionResult> context = table.activate();
+    try
+    {
+      final String serialized = coercing.serialize( LocalDate.of( 2011, 12, 3 ) );
+      assertEquals( serialized, "2011-12-03" );
+      assertSame( coercing.serialize( LocalDate.of( 2011, 12, 3 ) ), serialized );
+      assertSame( coercing.serialize( "2011-12-03" ), serialized );
+      assertEquals( coercing.serialize( LocalDate.of( 2011, 12, 4 ) ), "2011-12-04" );
+      assertEquals( table.size(), 2 );
+    }
+    finally
+    {
+      context.onDispatched( null );
+    }
+  }
+
+  @Test
+  public void serialize_LocalDateTime()
+  {
+    final LocalDateTimeCoercing coercing = new LocalDateTimeCoercing();
+    final SerializedValueTable table = new SerializedValueTable();
+    final InstrumentationContext<ExecutionResult> context = table.activate();
+    try
+    {
+      final String serialized = coercing.serialize( LocalDateTime.of( 2011, 12, 3, 10, 15, 30 ) );
+      assertEquals( serialized, "2011-12-03T10:15:30" );
+      assertSame( coercing.serialize( LocalDateTime.of( 2011, 12, 3, 10, 15, 30 ) ), serialized );
+      assertSame( coercing.serialize( "2011-12-03T10:15:30" ), serialized );
+      assertEquals( table.size(), 1 );
+    }
+    finally
+    {
+      context.onDispatched( null );
+    }
+  }
+}
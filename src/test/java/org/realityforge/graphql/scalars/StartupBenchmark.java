@@ -0,0 +1,259 @@
+package org.realityforge.graphql.scalars;
+
+import graphql.schema.Coercing;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+
+/**
+ * Measures the time to the first coercions in a new JVM.
+ * Each run launches a JVM that times the initialization of the scalars and then the first parseValue
+ * and serialize of each scalar. The median, minimum and maximum of each time are reported. One further run logs
+ * the classes that are initialized by the coercions, to report their number and whether
+ * DateTimeFormatter is among them. Classes are initialized when they are loaded on Java 8, which
+ * does not support logging class initialization, so loaded classes are reported instead.
+ *
+ * <p>This is not part of the test suite as the results depend upon the machine. Run it from the
+ * test classpath, optionally specifying the number of runs. i.e.</p>
+ * <pre>{@code
+ * java -cp ... org.realityforge.graphql.scalars.StartupBenchmark 20
+ * }</pre>
+ */
+public final class StartupBenchmark
+{
+  private static final String PROBE = "probe";
+  private static final String START_MARKER = "StartupBenchmark: start";
+  private static final String END_MARKER = "StartupBenchmark: end";
+  @Nonnull
+  private static final Pattern FORMATTER_PATTERN =
+    Pattern.compile( ".*java[./]time[./]format[./]DateTimeFormatter['\\s].*" );
+  /**
+   * The operations timed by the probe, in the order that they are performed.
+   */
+  @Nonnull
+  private static final List<String> OPERATIONS =
+    Collections.unmodifiableList( Arrays.asList( "Scalars",
+                                                 "LocalDate.parseValue",
+                                                 "LocalDate.serialize",
+                                                 "LocalDateTime.parseValue",
+                                                 "LocalDateTime.serialize" ) );
+
+  private StartupBenchmark()
+  {
+  }
+
+  public static void main( @Nonnull final String[] args )
+    throws Exception
+  {
+    if ( args.length > 0 && PROBE.equals( args[ 0 ] ) )
+    {
+      probe();
+    }
+    else
+    {
+      System.out.println( run( args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 20 ) );
+    }
+  }
+
+  /**
+   * Perform and time the first coercions, printing the time of each in nanoseconds.
+   */
+  private static void probe()
+  {
+    System.out.println( START_MARKER );
+    final long[] times = new long[ OPERATIONS.size() + 1 ];
+    times[ 0 ] = System.nanoTime();
+    final Coercing<?, ?> localDate = Scalars.LOCAL_DATE.getCoercing();
+    final Coercing<?, ?> localDateTime = Scalars.LOCAL_DATE_TIME.getCoercing();
+    times[ 1 ] = System.nanoTime();
+    final Object date = localDate.parseValue( "2011-12-03" );
+    times[ 2 ] = System.nanoTime();
+    localDate.serialize( date );
+    times[ 3 ] = System.nanoTime();
+    final Object dateTime = localDateTime.parseValue( "2011-12-03T10:15:30" );
+    times[ 4 ] = System.nanoTime();
+    localDateTime.serialize( dateTime );
+    times[ 5 ] = System.nanoTime();
+    System.out.println( END_MARKER );
+    for ( int i = 0; i < OPERATIONS.size(); i++ )
+    {
+      System.out.println( OPERATIONS.get( i ) + " " + ( times[ i + 1 ] - times[ i ] ) );
+    }
+  }
+
+  /**
+   * Launch the JVMs and return the results.
+   */
+  @Nonnull
+  static Result run( final int runCount )
+    throws IOException, InterruptedException
+  {
+    final Map<String, List<Long>> times = new LinkedHashMap<>();
+    for ( final String operation : OPERATIONS )
+    {
+      times.put( operation, new ArrayList<>() );
+    }
+    for ( int i = 0; i < runCount; i++ )
+    {
+      for ( final String line : launch( Collections.emptyList() ) )
+      {
+        final int separator = line.indexOf( ' ' );
+        final List<Long> operationTimes = -1 != separator ? times.get( line.substring( 0, separator ) ) : null;
+        if ( null != operationTimes )
+        {
+          operationTimes.add( Long.parseLong( line.substring( separator + 1 ) ) );
+        }
+      }
+    }
+
+    final boolean logInitialization = !System.getProperty( "java.specification.version" ).startsWith( "1." );
+    final List<String> output =
+      launch( Collections.singletonList( logInitialization ? "-Xlog:class+init=info" : "-verbose:class" ) );
+    final String classPattern = logInitialization ? "Initializing '" : "Loaded ";
+    int classCount = 0;
+    boolean formatterInitialized = false;
+    boolean started = false;
+    for ( final String line : output )
+    {
+      if ( START_MARKER.equals( line ) )
+      {
+        started = true;
+      }
+      else if ( END_MARKER.equals( line ) )
+      {
+        break;
+      }
+      else if ( started && line.contains( classPattern ) )
+      {
+        classCount++;
+        formatterInitialized |= FORMATTER_PATTERN.matcher( line ).matches();
+      }
+    }
+    return new Result( times, logInitialization, classCount, formatterInitialized );
+  }
+
+  @Nonnull
+  private static List<String> launch( @Nonnull final List<String> jvmArgs )
+    throws IOException, InterruptedException
+  {
+    final List<String> command = new ArrayList<>();
+    command.add( System.getProperty( "java.home" ) + File.separator + "bin" + File.separator + "java" );
+    command.addAll( jvmArgs );
+    command.add( "-cp" );
+    command.add( System.getProperty( "java.class.path" ) );
+    command.add( StartupBenchmark.class.getName() );
+    command.add( PROBE );
+    final Process process = new ProcessBuilder( command ).redirectErrorStream( true ).start();
+    final List<String> lines = new ArrayList<>();
+    try ( BufferedReader reader =
+            new BufferedReader( new InputStreamReader( process.getInputStream(), StandardCharsets.UTF_8 ) ) )
+    {
+      String line;
+      while ( null != ( line = reader.readLine() ) )
+      {
+        lines.add( line );
+      }
+    }
+    final int exitCode = process.waitFor();
+    if ( 0 != exitCode )
+    {
+      throw new IllegalStateException( "Probe exited with code " + exitCode + ": " + lines );
+    }
+    return lines;
+  }
+
+  static final class Result
+  {
+    @Nonnull
+    private final Map<String, List<Long>> _times;
+    private final boolean _initializationLogged;
+    private final int _classCount;
+    private final boolean _formatterInitialized;
+
+    Result( @Nonnull final Map<String, List<Long>> times,
+            final boolean initializationLogged,
+            final int classCount,
+            final boolean formatterInitialized )
+    {
+      _times = times;
+      _initializationLogged = initializationLogged;
+      _classCount = classCount;
+      _formatterInitialized = formatterInitialized;
+    }
+
+    /**
+     * Return the time of each run of each operation in nanoseconds.
+     */
+    @Nonnull
+    Map<String, List<Long>> getTimes()
+    {
+      return _times;
+    }
+
+    /**
+     * Return the number of classes initialized by the first coercions, or loaded if initialization was not logged.
+     */
+    int getClassCount()
+    {
+      return _classCount;
+    }
+
+    boolean isFormatterInitialized()
+    {
+      return _formatterInitialized;
+    }
+
+    @Override
+    public String toString()
+    {
+      final StringBuilder sb = new StringBuilder();
+      final List<Long> totals = new ArrayList<>();
+      for ( final Map.Entry<String, List<Long>> entry : _times.entrySet() )
+      {
+        final List<Long> times = entry.getValue();
+        for ( int i = 0; i < times.size(); i++ )
+        {
+          if ( i < totals.size() )
+          {
+            totals.set( i, totals.get( i ) + times.get( i ) );
+          }
+          else
+          {
+            totals.add( times.get( i ) );
+          }
+        }
+        sb.append( describe( entry.getKey(), times ) ).append( '\n' );
+      }
+      sb.append( describe( "Total", totals ) ).append( '\n' );
+      sb.append( _initializationLogged ? "Classes initialized: " : "Classes loaded: " ).append( _classCount );
+      sb.append( '\n' );
+      sb.append( "DateTimeFormatter " ).append( _initializationLogged ? "initialized: " : "loaded: " );
+      sb.append( _formatterInitialized );
+      return sb.toString();
+    }
+
+    @Nonnull
+    private static String describe( @Nonnull final String name, @Nonnull final List<Long> times )
+    {
+      final List<Long> sorted = new ArrayList<>( times );
+      Collections.sort( sorted );
+      return String.format( Locale.ENGLISH,
+                            "%-26s median %7.2f ms  min %7.2f ms  max %7.2f ms",
+                            name,
+                            sorted.get( sorted.size() / 2 ) / 1e6,
+                            sorted.get( 0 ) / 1e6,
+                            sorted.get( sorted.size() - 1 ) / 1e6 );
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package org.realityforge.graphql.scalars;
+
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class StartupBenchmarkTest
+{
+  @Test
+  public void run()
+    throws Exception
+  {
+    // Only checks that the benchmark runs as timings vary too much between machines to assert upon
+    final StartupBenchmark.Result result = StartupBenchmark.run( 1 );
+    assertEquals( result.getTimes().keySet().toString(),
+                  "[Scalars, LocalDate.parseValue, LocalDate.serialize, LocalDateTime.parseValue, " +
+                  "LocalDateTime.serialize]" );
+    for ( final Map.Entry<String, List<Long>> entry : result.getTimes().entrySet() )
+    {
+      assertEquals( entry.getValue().size(), 1, entry.getKey() );
+      assertTrue( entry.getValue().get( 0 ) > 0, entry.getKey() );
+    }
+    assertTrue( result.getClassCount() > 0 );
+    // The common coercion paths do not use the ISO formatters
+    assertFalse( result.isFormatterInitialized(), result.toString() );
+  }
+}